@@ -0,0 +1,85 @@
+package com.krawenn.auth.benchmark;
+
+import com.krawenn.auth.exception.GlobalExceptionHandler;
+import com.krawenn.auth.exception.InvalidCredentialsException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a request that ends in a domain exception, thrown from a call
+ * stack of roughly the depth a servlet request has by the time it reaches
+ * the service, at a given share of failing requests. {@code stackTrace}
+ * builds a fresh response after an exception that fills in its stack trace
+ * (the previous behaviour); {@code stackless} uses the current exceptions
+ * and cached responses. Run with {@code ./gradlew jmh} and add
+ * {@code -prof gc} to the JMH arguments to compare allocation per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FailurePathBenchmark {
+    private static final int CALL_DEPTH = 80;
+    private static final ResponseEntity<String> SUCCESS = ResponseEntity.ok("ok");
+
+    @Param({"0.5", "0.9", "0.99"})
+    public double failureRatio;
+
+    private GlobalExceptionHandler handler;
+    private int failuresPerHundred;
+    private int request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        failuresPerHundred = (int) Math.round(failureRatio * 100);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> stackTrace() {
+        try {
+            return call(CALL_DEPTH, nextFails(), true);
+        } catch (StackTraceInvalidCredentialsException ex) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<String> stackless() {
+        try {
+            return call(CALL_DEPTH, nextFails(), false);
+        } catch (InvalidCredentialsException ex) {
+            return handler.handleInvalidCredentials(ex);
+        }
+    }
+
+    private boolean nextFails() {
+        request = request == 99 ? 0 : request + 1;
+        return request < failuresPerHundred;
+    }
+
+    private static ResponseEntity<String> call(int depth, boolean fail, boolean withStackTrace) {
+        if (depth > 0) {
+            return call(depth - 1, fail, withStackTrace);
+        }
+        if (!fail) {
+            return SUCCESS;
+        }
+        throw withStackTrace ? new StackTraceInvalidCredentialsException() : new InvalidCredentialsException();
+    }
+
+    private static class StackTraceInvalidCredentialsException extends RuntimeException {
+        StackTraceInvalidCredentialsException() {
+            super("Invalid credentials");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.krawenn.auth.benchmark;
+
+import com.krawenn.auth.model.RefreshToken;
+import com.krawenn.auth.repository.MongoReadRouting;
+import com.krawenn.auth.repository.RefreshTokenBuckets;
+import com.krawenn.auth.repository.RefreshTokenRepositoryCustomImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert, lookup and expiry cost of refresh tokens in the single
+ * {@code refresh_tokens} collection versus weekly bucket collections.
+ * Single-collection expiry deletes expired documents through an
+ * {@code expiryDate} index, which is also what the TTL monitor does;
+ * bucketed expiry drops the past week's collection. Needs a MongoDB
+ * instance, set with {@code -Dbenchmark.mongo.uri} or
+ * {@code BENCHMARK_MONGO_URI} (default {@code mongodb://localhost:27017}).
+ * The {@value #DATABASE} database is dropped before and after each run.
+ */
+public class RefreshTokenBucketBenchmark {
+    private static final String DATABASE = "auth_benchmark";
+    private static final long SEVEN_DAYS_MS = 7L * 24 * 60 * 60 * 1000;
+    private static final int PRELOADED_TOKENS = 10_000;
+    private static final int INSERT_CHUNK = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Store {
+        @Param({"single", "bucketed"})
+        public String layout;
+
+        MongoClient client;
+        MongoTemplate mongoTemplate;
+        RefreshTokenBuckets buckets;
+        RefreshTokenRepositoryCustomImpl repository;
+        String[] tokens;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            client = MongoClients.create(System.getProperty("benchmark.mongo.uri",
+                    System.getenv().getOrDefault("BENCHMARK_MONGO_URI", "mongodb://localhost:27017")));
+            mongoTemplate = new MongoTemplate(client, DATABASE);
+            mongoTemplate.getDb().drop();
+            buckets = new RefreshTokenBuckets(mongoTemplate, "bucketed".equals(layout), SEVEN_DAYS_MS, 0, 0);
+            repository = new RefreshTokenRepositoryCustomImpl(
+                    new MongoReadRouting(mongoTemplate, false, "primary", 0), mongoTemplate, buckets);
+            // The bucketed layout indexes its collections itself; give the single collection the same indexes
+            IndexOperations indexOps = mongoTemplate.indexOps(RefreshToken.class);
+            indexOps.ensureIndex(new Index().on("token", Sort.Direction.ASC).unique());
+            indexOps.ensureIndex(new Index().on("userId", Sort.Direction.ASC));
+            indexOps.ensureIndex(new Index().on("expiryDate", Sort.Direction.ASC));
+
+            tokens = new String[PRELOADED_TOKENS];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = repository.save(newToken(Instant.now().plusMillis(SEVEN_DAYS_MS))).getToken();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            mongoTemplate.getDb().drop();
+            client.close();
+        }
+
+        RefreshToken newToken(Instant expiry) {
+            RefreshToken refreshToken = new RefreshToken();
+            refreshToken.setUserId(new ObjectId().toHexString());
+            refreshToken.setToken(buckets.newToken(expiry));
+            refreshToken.setExpiryDate(expiry);
+            return refreshToken;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ExpiredTokens extends Store {
+        @Param({"100000"})
+        public int expiredCount;
+
+        @Setup(Level.Iteration)
+        public void fill() {
+            // Expired more than a week ago, so the whole bucket week is already over
+            Instant expiry = Instant.now().minusMillis(SEVEN_DAYS_MS + TimeUnit.DAYS.toMillis(1));
+            String collection = buckets.collectionForToken(buckets.newToken(expiry));
+            buckets.ensureIndexes(collection);
+            List<RefreshToken> chunk = new ArrayList<>(INSERT_CHUNK);
+            for (int i = 0; i < expiredCount; i++) {
+                chunk.add(newToken(expiry));
+                if (chunk.size() == INSERT_CHUNK) {
+                    mongoTemplate.insert(chunk, collection);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                mongoTemplate.insert(chunk, collection);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public RefreshToken insert(Store store) {
+        return store.repository.save(store.newToken(Instant.now().plusMillis(SEVEN_DAYS_MS)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<RefreshToken> lookup(Store store) {
+        String token = store.tokens[store.next];
+        store.next = (store.next + 1) % store.tokens.length;
+        return store.repository.findByToken(token);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public long expire(ExpiredTokens state) {
+        if (state.buckets.isEnabled()) {
+            return state.buckets.dropExpiredBuckets();
+        }
+        return state.mongoTemplate.remove(Query.query(Criteria.where("expiryDate").lt(Instant.now())),
+                RefreshToken.class).getDeletedCount();
+    }
+}
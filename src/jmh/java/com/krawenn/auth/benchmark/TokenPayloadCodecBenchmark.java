@@ -0,0 +1,90 @@
+package com.krawenn.auth.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.dto.AuthResponse;
+import com.krawenn.auth.dto.RefreshRequest;
+import com.krawenn.auth.grpc.v1.RefreshTokenRequest;
+import com.krawenn.auth.grpc.v1.TokenPair;
+import com.krawenn.auth.grpc.v1.VerifyRequest;
+import com.krawenn.auth.grpc.v1.VerifyResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call payload cost of the REST (Jackson) and gRPC (protobuf) token APIs:
+ * decoding the request and encoding the response for refresh and verify.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenPayloadCodecBenchmark {
+    private static final String ACCESS_TOKEN = "eyJraWQiOiJkZWZhdWx0IiwiYWxnIjoiSFMyNTYifQ."
+            + "eyJyb2xlIjoiVVNFUiIsImlzcyI6ImxlYWd1ZS1hdXRoLXNlcnZpY2UiLCJzdWIiOiJ0ZXN0dXNlciIsImlhdCI6MTcwMDAwMDAwMCwiZXhwIjoxNzAwMDAzNjAwfQ."
+            + "c2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dXJlMTIz";
+    private static final String REFRESH_TOKEN = "0b8f3a52-6f4b-4c1a-9d8e-3f2a1b0c9d8e";
+
+    private ObjectMapper objectMapper;
+    private byte[] refreshJson;
+    private byte[] refreshProto;
+    private byte[] verifyJson;
+    private byte[] verifyProto;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        RefreshRequest refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken(REFRESH_TOKEN);
+        refreshJson = objectMapper.writeValueAsBytes(refreshRequest);
+        refreshProto = RefreshTokenRequest.newBuilder().setRefreshToken(REFRESH_TOKEN).build().toByteArray();
+        verifyJson = objectMapper.writeValueAsBytes(Map.of("token", ACCESS_TOKEN));
+        verifyProto = VerifyRequest.newBuilder().setToken(ACCESS_TOKEN).build().toByteArray();
+    }
+
+    @Benchmark
+    public byte[] refreshJackson() throws Exception {
+        RefreshRequest request = objectMapper.readValue(refreshJson, RefreshRequest.class);
+        return objectMapper.writeValueAsBytes(new AuthResponse(ACCESS_TOKEN, request.getRefreshToken(), "USER"));
+    }
+
+    @Benchmark
+    public byte[] refreshProtobuf() throws Exception {
+        RefreshTokenRequest request = RefreshTokenRequest.parseFrom(refreshProto);
+        return TokenPair.newBuilder()
+                .setToken(ACCESS_TOKEN)
+                .setRefreshToken(request.getRefreshToken())
+                .setRole("USER")
+                .build()
+                .toByteArray();
+    }
+
+    @Benchmark
+    public byte[] verifyJackson() throws Exception {
+        Map<?, ?> request = objectMapper.readValue(verifyJson, Map.class);
+        return objectMapper.writeValueAsBytes(Map.of(
+                "active", request.get("token") != null,
+                "subject", "testuser",
+                "role", "USER",
+                "expiresAtEpochMs", 1700003600000L));
+    }
+
+    @Benchmark
+    public byte[] verifyProtobuf() throws Exception {
+        VerifyRequest request = VerifyRequest.parseFrom(verifyProto);
+        return VerifyResponse.newBuilder()
+                .setActive(!request.getToken().isEmpty())
+                .setSubject("testuser")
+                .setRole("USER")
+                .setExpiresAtEpochMs(1700003600000L)
+                .build()
+                .toByteArray();
+    }
+}
@@ -0,0 +1,12 @@
+package com.krawenn.auth.audit;
+
+public enum AuditEventType {
+    REGISTER,
+    REGISTER_FAILURE,
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    LOGIN_LOCKED,
+    REFRESH_SUCCESS,
+    REFRESH_FAILURE,
+    LOGOUT_ALL
+}
@@ -0,0 +1,86 @@
+package com.krawenn.auth.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * Each slot carries a sequence number so producers claim slots with one CAS
+ * and the consumer only sees fully published entries.
+ */
+public class AuditRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    public AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E entry) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    entries.lazySet(index, entry);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = head.get();
+            } else if (distance < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    public E poll() {
+        long position = tail.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E entry = entries.get(index);
+        entries.lazySet(index, null);
+        sequences.set(index, position + mask + 1);
+        tail.lazySet(position + 1);
+        return entry;
+    }
+
+    public int drainTo(List<E> sink, int maxEntries) {
+        int drained = 0;
+        while (drained < maxEntries) {
+            E entry = poll();
+            if (entry == null) {
+                break;
+            }
+            sink.add(entry);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long size() {
+        return Math.max(0, head.get() - tail.get());
+    }
+}
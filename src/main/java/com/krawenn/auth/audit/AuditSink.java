@@ -0,0 +1,9 @@
+package com.krawenn.auth.audit;
+
+import com.krawenn.auth.model.AuditEvent;
+
+import java.util.List;
+
+public interface AuditSink {
+    void write(List<AuditEvent> batch);
+}
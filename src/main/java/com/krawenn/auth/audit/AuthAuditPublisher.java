@@ -0,0 +1,133 @@
+package com.krawenn.auth.audit;
+
+import com.krawenn.auth.model.AuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes authentication audit events to a ring buffer drained by a single
+ * background writer, so request threads never wait on the audit sink.
+ * When the buffer is full events are either dropped or the publisher blocks
+ * for at most {@code auth.audit.block-timeout-ms}, depending on the policy.
+ */
+@Slf4j
+@Component
+public class AuthAuditPublisher {
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditSink sink;
+    private final boolean enabled;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final AtomicLong lastWriteMillis = new AtomicLong(System.currentTimeMillis());
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter sinkFailures;
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public AuthAuditPublisher(AuditSink sink,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.audit.enabled:true}") boolean enabled,
+                              @Value("${auth.audit.buffer-size:8192}") int bufferSize,
+                              @Value("${auth.audit.batch-size:256}") int batchSize,
+                              @Value("${auth.audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                              @Value("${auth.audit.block-timeout-ms:5}") long blockTimeoutMs) {
+        this.sink = sink;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.dropped = meterRegistry.counter("auth.audit.events.dropped");
+        this.written = meterRegistry.counter("auth.audit.events.written");
+        this.sinkFailures = meterRegistry.counter("auth.audit.sink.failures");
+        Gauge.builder("auth.audit.lag.events", buffer, AuditRingBuffer::size).register(meterRegistry);
+        Gauge.builder("auth.audit.lag.seconds", lastWriteMillis,
+                last -> buffer.size() == 0 ? 0 : (System.currentTimeMillis() - last.get()) / 1000.0)
+                .register(meterRegistry);
+    }
+
+    public void publish(AuditEventType type, String username, String userId, String detail) {
+        if (!enabled) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(null, type, username, userId, detail, Instant.now());
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::consume, "auth-audit-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (consumer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void consume() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                sink.write(batch);
+                written.increment(batch.size());
+                lastWriteMillis.set(System.currentTimeMillis());
+            } catch (RuntimeException ex) {
+                sinkFailures.increment();
+                dropped.increment(batch.size());
+                log.warn("Dropped {} audit events after sink failure", batch.size(), ex);
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.krawenn.auth.audit;
+
+import com.krawenn.auth.model.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MongoAuditSink implements AuditSink {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        mongoTemplate.insert(batch, AuditEvent.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.krawenn.auth.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.model.AuditEvent;
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class RollingFileAuditSink implements AuditSink {
+    private static final String ACTIVE_FILE = "audit.ndjson";
+    private static final String ROLLED_PREFIX = "audit-";
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    private OutputStream out;
+    private long currentBytes;
+
+    public RollingFileAuditSink(ObjectMapper objectMapper, String directory, long maxFileBytes, int maxFiles) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public synchronized void write(List<AuditEvent> batch) {
+        try {
+            if (out == null) {
+                open();
+            }
+            // Counted as encoded bytes, so non-ASCII usernames cannot push a file past max-file-bytes
+            for (AuditEvent event : batch) {
+                byte[] line = objectMapper.writeValueAsBytes(event);
+                out.write(line);
+                out.write(NEWLINE);
+                currentBytes += line.length + 1;
+            }
+            out.flush();
+            if (currentBytes >= maxFileBytes) {
+                roll();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path active = directory.resolve(ACTIVE_FILE);
+        out = new BufferedOutputStream(Files.newOutputStream(active,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        currentBytes = Files.size(active);
+    }
+
+    private void roll() throws IOException {
+        close();
+        Files.move(directory.resolve(ACTIVE_FILE),
+                directory.resolve(ROLLED_PREFIX + System.currentTimeMillis() + ".ndjson"));
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> rolled = files
+                    .filter(path -> path.getFileName().toString().startsWith(ROLLED_PREFIX))
+                    .sorted(Comparator.comparing(Path::toString).reversed())
+                    .toList();
+            for (Path old : rolled.subList(Math.min(maxFiles, rolled.size()), rolled.size())) {
+                Files.deleteIfExists(old);
+            }
+        }
+        open();
+    }
+}
@@ -0,0 +1,29 @@
+package com.krawenn.auth.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.audit.AuditSink;
+import com.krawenn.auth.audit.MongoAuditSink;
+import com.krawenn.auth.audit.RollingFileAuditSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@Configuration
+public class AuditSinkConfig {
+
+    // Selected when the bean is created rather than with @ConditionalOnProperty, which AOT evaluates at build time
+    @Bean
+    public AuditSink auditSink(MongoTemplate mongoTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${auth.audit.sink:mongo}") String sink,
+                               @Value("${auth.audit.file.directory:audit}") String directory,
+                               @Value("${auth.audit.file.max-file-bytes:67108864}") long maxFileBytes,
+                               @Value("${auth.audit.file.max-files:10}") int maxFiles) {
+        return switch (sink) {
+            case "mongo" -> new MongoAuditSink(mongoTemplate);
+            case "file" -> new RollingFileAuditSink(objectMapper, directory, maxFileBytes, maxFiles);
+            default -> throw new IllegalArgumentException("Unknown auth.audit.sink '" + sink + "', expected mongo or file");
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.krawenn.auth.config;
+
+import com.krawenn.auth.limiter.AdaptiveConcurrencyLimiter;
+import com.krawenn.auth.limiter.ConcurrencyLimitFilter;
+import com.krawenn.auth.limiter.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        Map<String, AdaptiveConcurrencyLimiter> limiters = Map.of(
+                "/api/auth/refresh", properties.getRefresh().newLimiter(),
+                "/api/auth/login", properties.getLogin().newLimiter(),
+                "/api/auth/register", properties.getRegister().newLimiter());
+        limiters.forEach((path, limiter) -> {
+            Gauge.builder("auth.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("path", path).register(meterRegistry);
+            Gauge.builder("auth.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("path", path).register(meterRegistry);
+        });
+        // Always registered; the enabled flag is checked per request so AOT cannot freeze it and a refresh can flip it
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiters, properties::isEnabled,
+                path -> meterRegistry.counter("auth.concurrency.rejected", "path", path).increment());
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/auth/*");
+        // Shed load before the security chain does any work
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
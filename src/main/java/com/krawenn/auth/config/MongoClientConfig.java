@@ -0,0 +1,26 @@
+package com.krawenn.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoClientConfig {
+
+    // Keep Mongo failures short so the circuit breaker opens instead of requests waiting on driver defaults
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTimeoutCustomizer(
+            @Value("${auth.mongo.server-selection-timeout-ms:2000}") long serverSelectionTimeoutMs,
+            @Value("${auth.mongo.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${auth.mongo.read-timeout-ms:5000}") long readTimeoutMs) {
+        return builder -> builder
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,32 @@
+package com.krawenn.auth.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.JjwtRuntimeHints.class)
+public class NativeHintsConfig {
+
+    // jjwt instantiates its implementation classes reflectively by name
+    static class JjwtRuntimeHints implements RuntimeHintsRegistrar {
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            JJWT_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.krawenn.auth.controller;
+
+import com.krawenn.auth.service.AdminExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminExportController {
+    private final AdminExportService adminExportService;
+
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(adminExportService::exportUsers);
+    }
+
+    @GetMapping(value = "/sessions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSessions() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(adminExportService::exportSessions);
+    }
+}
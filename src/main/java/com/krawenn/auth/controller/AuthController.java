@@ -8,6 +8,7 @@ import com.krawenn.auth.dto.AuthResponse;
 import com.krawenn.auth.dto.RefreshRequest;
 import com.krawenn.auth.service.AuthService;
 import jakarta.validation.Valid;
+import java.security.Principal;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -30,4 +31,10 @@ public class AuthController {
     public ResponseEntity<AuthResponse> refresh(@RequestBody @Valid RefreshRequest request) {
         return ResponseEntity.ok(authService.refreshToken(request));
     }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(Principal principal) {
+        authService.logoutAll(principal.getName());
+        return ResponseEntity.noContent().build();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.krawenn.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class SessionExportRecord {
+    private String id;
+    private String userId;
+    private Instant expiryDate;
+}
@@ -0,0 +1,14 @@
+package com.krawenn.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserExportRecord {
+    private String id;
+    private String username;
+    private String email;
+    private String role;
+    private long tokenVersion;
+}
@@ -0,0 +1,10 @@
+package com.krawenn.auth.exception;
+
+public class AccountLockedException extends StacklessException {
+    public AccountLockedException() {
+        this("Account temporarily locked");
+    }
+    public AccountLockedException(String message) {
+        super(message);
+    }
+}
@@ -1,38 +1,107 @@
 package com.krawenn.auth.exception;
 
 import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Error responses are immutable and depend only on the status and message,
+ * so they are built once per distinct message and reused. Domain exceptions
+ * carry a small, fixed set of messages; the caches stop growing at
+ * {@value #MAX_CACHED_RESPONSES} entries in case a caller ever passes a
+ * dynamic one.
+ */
 @Hidden
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final int MAX_CACHED_RESPONSES = 256;
+    private static final String DATA_ACCESS_MESSAGE = "Service temporarily unavailable";
+
+    private final ConcurrentMap<String, ResponseEntity<String>> conflictResponses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ResponseEntity<String>> notFoundResponses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ResponseEntity<String>> unauthorizedResponses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ResponseEntity<String>> unavailableResponses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ResponseEntity<String>> lockedResponses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ResponseEntity<Map<String, String>>> validationResponses = new ConcurrentHashMap<>();
+
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<String> handleUserAlreadyExists(UserAlreadyExistsException ex) {
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        return cached(conflictResponses, HttpStatus.CONFLICT, ex.getMessage());
     }
 
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<String> handleUserNotFound(UserNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        return cached(notFoundResponses, HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<String> handleInvalidCredentials(InvalidCredentialsException ex) {
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+        return cached(unauthorizedResponses, HttpStatus.UNAUTHORIZED, ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return cached(unavailableResponses, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    // Driver messages can name hosts and collections, so callers only get the generic message
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<String> handleDataAccess(DataAccessException ex) {
+        return cached(unavailableResponses, HttpStatus.SERVICE_UNAVAILABLE, DATA_ACCESS_MESSAGE);
+    }
+
+    @ExceptionHandler(AccountLockedException.class)
+    public ResponseEntity<String> handleAccountLocked(AccountLockedException ex) {
+        return cached(lockedResponses, HttpStatus.LOCKED, ex.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error ->
-            errors.put(error.getField(), error.getDefaultMessage())
-        );
-        return ResponseEntity.badRequest().body(errors);
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        String key = validationKey(fieldErrors);
+        ResponseEntity<Map<String, String>> response = validationResponses.get(key);
+        if (response == null) {
+            Map<String, String> errors = new HashMap<>();
+            fieldErrors.forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+            response = ResponseEntity.badRequest().body(Collections.unmodifiableMap(errors));
+            if (validationResponses.size() < MAX_CACHED_RESPONSES) {
+                validationResponses.putIfAbsent(key, response);
+            }
+        }
+        return response;
+    }
+
+    private static ResponseEntity<String> cached(ConcurrentMap<String, ResponseEntity<String>> cache,
+                                                 HttpStatus status, String message) {
+        if (message == null) {
+            return ResponseEntity.status(status).body(null);
+        }
+        ResponseEntity<String> response = cache.get(message);
+        if (response == null) {
+            response = ResponseEntity.status(status).body(message);
+            if (cache.size() < MAX_CACHED_RESPONSES) {
+                cache.putIfAbsent(message, response);
+            }
+        }
+        return response;
+    }
+
+    private static String validationKey(List<FieldError> fieldErrors) {
+        StringBuilder key = new StringBuilder();
+        for (FieldError error : fieldErrors) {
+            key.append(error.getField()).append('\u0000').append(error.getDefaultMessage()).append('\u0001');
+        }
+        return key.toString();
     }
-} 
\ No newline at end of file
+}
@@ -1,8 +1,8 @@
 package com.krawenn.auth.exception;
 
-public class InvalidCredentialsException extends RuntimeException {
+public class InvalidCredentialsException extends StacklessException {
     public InvalidCredentialsException() {
-        super("Invalid credentials");
+        this("Invalid credentials");
     }
     public InvalidCredentialsException(String message) {
         super(message);
@@ -0,0 +1,10 @@
+package com.krawenn.auth.exception;
+
+public class ServiceUnavailableException extends StacklessException {
+    public ServiceUnavailableException() {
+        this("Service temporarily unavailable");
+    }
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
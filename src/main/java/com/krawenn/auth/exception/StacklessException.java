@@ -0,0 +1,13 @@
+package com.krawenn.auth.exception;
+
+/**
+ * Base for domain exceptions thrown on routine request failures such as bad
+ * credentials or an open Mongo circuit. These are expected under load and
+ * mapped straight to an HTTP status, so no stack trace is captured and
+ * suppression is disabled.
+ */
+public abstract class StacklessException extends RuntimeException {
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,8 +1,8 @@
 package com.krawenn.auth.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends StacklessException {
     public UserAlreadyExistsException() {
-        super("User already exists");
+        this("User already exists");
     }
     public UserAlreadyExistsException(String message) {
         super(message);
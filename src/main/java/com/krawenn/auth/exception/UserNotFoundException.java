@@ -1,8 +1,8 @@
 package com.krawenn.auth.exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends StacklessException {
     public UserNotFoundException() {
-        super("User not found");
+        this("User not found");
     }
     public UserNotFoundException(String message) {
         super(message);
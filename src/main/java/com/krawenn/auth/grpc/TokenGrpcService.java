@@ -0,0 +1,137 @@
+package com.krawenn.auth.grpc;
+
+import com.krawenn.auth.dto.AuthResponse;
+import com.krawenn.auth.dto.RefreshRequest;
+import com.krawenn.auth.exception.InvalidCredentialsException;
+import com.krawenn.auth.exception.ServiceUnavailableException;
+import com.krawenn.auth.exception.UserNotFoundException;
+import com.krawenn.auth.grpc.v1.IntrospectRequest;
+import com.krawenn.auth.grpc.v1.IntrospectResponse;
+import com.krawenn.auth.grpc.v1.RefreshTokenRequest;
+import com.krawenn.auth.grpc.v1.TokenPair;
+import com.krawenn.auth.grpc.v1.TokenServiceGrpc;
+import com.krawenn.auth.grpc.v1.VerifyRequest;
+import com.krawenn.auth.grpc.v1.VerifyResponse;
+import com.krawenn.auth.security.JwtTokenVerifier;
+import com.krawenn.auth.security.JwtUtil;
+import com.krawenn.auth.service.AuthService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class TokenGrpcService extends TokenServiceGrpc.TokenServiceImplBase {
+    private static final VerifyResponse INACTIVE = VerifyResponse.newBuilder().setActive(false).build();
+    private static final IntrospectResponse INTROSPECT_INACTIVE = IntrospectResponse.newBuilder().setActive(false).build();
+
+    private final AuthService authService;
+    private final JwtTokenVerifier tokenVerifier;
+    private final JwtUtil jwtUtil;
+
+    @Override
+    public void verify(VerifyRequest request, StreamObserver<VerifyResponse> responseObserver) {
+        responseObserver.onNext(verify(request));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<VerifyRequest> verifyStream(StreamObserver<VerifyResponse> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(VerifyRequest request) {
+                responseObserver.onNext(verify(request));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                responseObserver.onError(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void introspect(IntrospectRequest request, StreamObserver<IntrospectResponse> responseObserver) {
+        responseObserver.onNext(introspect(request.getToken()));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void refresh(RefreshTokenRequest request, StreamObserver<TokenPair> responseObserver) {
+        RefreshRequest refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken(request.getRefreshToken());
+        try {
+            AuthResponse response = authService.refreshToken(refreshRequest);
+            responseObserver.onNext(TokenPair.newBuilder()
+                    .setToken(response.getToken())
+                    .setRefreshToken(response.getRefreshToken())
+                    .setRole(response.getRole())
+                    .build());
+            responseObserver.onCompleted();
+        } catch (InvalidCredentialsException ex) {
+            responseObserver.onError(Status.UNAUTHENTICATED.withDescription(ex.getMessage()).asRuntimeException());
+        } catch (UserNotFoundException ex) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(ex.getMessage()).asRuntimeException());
+        } catch (ServiceUnavailableException ex) {
+            responseObserver.onError(Status.UNAVAILABLE.withDescription(ex.getMessage()).asRuntimeException());
+        } catch (DataAccessException ex) {
+            // Same generic message as the REST 503; driver messages can name hosts
+            responseObserver.onError(Status.UNAVAILABLE.withDescription("Service temporarily unavailable").asRuntimeException());
+        }
+    }
+
+    private IntrospectResponse introspect(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return INTROSPECT_INACTIVE;
+        }
+        // Tokens issued before a logout-all are inactive even though their signature is valid
+        if (!tokenVerifier.isCurrent(claims)) {
+            return INTROSPECT_INACTIVE;
+        }
+        IntrospectResponse.Builder builder = IntrospectResponse.newBuilder()
+                .setActive(true)
+                .setSubject(claims.getSubject())
+                .setExpiresAtEpochMs(claims.getExpiration().getTime());
+        String role = claims.get("role", String.class);
+        if (role != null) {
+            builder.setRole(role);
+        }
+        if (claims.getIssuer() != null) {
+            builder.setIssuer(claims.getIssuer());
+        }
+        if (claims.getIssuedAt() != null) {
+            builder.setIssuedAtEpochMs(claims.getIssuedAt().getTime());
+        }
+        return builder.build();
+    }
+
+    private VerifyResponse verify(VerifyRequest request) {
+        return tokenVerifier.verify(request.getToken())
+                .map(verified -> {
+                    VerifyResponse.Builder builder = VerifyResponse.newBuilder()
+                            .setActive(true)
+                            .setSubject(verified.username())
+                            .setExpiresAtEpochMs(verified.expiresAtMillis())
+                            .setRequestId(request.getRequestId());
+                    if (verified.role() != null) {
+                        builder.setRole(verified.role());
+                    }
+                    return builder.build();
+                })
+                .orElseGet(() -> request.getRequestId().isEmpty()
+                        ? INACTIVE
+                        : INACTIVE.toBuilder().setRequestId(request.getRequestId()).build());
+    }
+}
@@ -0,0 +1,35 @@
+package com.krawenn.auth.limiter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "auth.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    // Maxima sum to 190, under the default 200 Tomcat workers; login and register are capped low so a
+    // credential-stuffing burst (BCrypt-bound) cannot take the threads that keep refresh answering
+    private Endpoint refresh = new Endpoint(50, 10, 140);
+    private Endpoint login = new Endpoint(20, 5, 40);
+    private Endpoint register = new Endpoint(5, 1, 10);
+
+    @Data
+    public static class Endpoint {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Endpoint() {
+        }
+
+        public Endpoint(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public AdaptiveConcurrencyLimiter newLimiter() {
+            return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+        }
+    }
+}
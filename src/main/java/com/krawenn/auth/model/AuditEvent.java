@@ -0,0 +1,24 @@
+package com.krawenn.auth.model;
+
+import com.krawenn.auth.audit.AuditEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "auth_audit_events")
+public class AuditEvent {
+    @Id
+    private String id;
+    private AuditEventType type;
+    private String username;
+    private String userId;
+    private String detail;
+    private Instant timestamp;
+}
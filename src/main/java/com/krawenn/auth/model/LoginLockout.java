@@ -0,0 +1,17 @@
+package com.krawenn.auth.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "login_lockouts")
+public class LoginLockout {
+    @Id
+    private String username;
+    private long failedAttempts;
+    private Instant lockedUntil;
+    private Instant updatedAt;
+}
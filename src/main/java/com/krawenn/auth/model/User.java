@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Data
 @Document(collection = "users")
 public class User {
@@ -13,4 +15,7 @@ public class User {
     private String email;
     private String password;
     private String role = "USER";
+    // Incremented by logout-all; access tokens carrying an older version are rejected
+    private long tokenVersion;
+    private Instant tokenVersionUpdatedAt;
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.krawenn.auth.repository;
+
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes single-document lookups to the configured read preference, typically
+ * secondaries. A miss is confirmed on the primary, so documents written moments
+ * ago are still found while replication catches up. A hit is trusted as is,
+ * which is only safe for documents whose staleness does not matter for a few
+ * seconds. Refresh tokens and the users that access tokens are minted from
+ * are not such documents, so they are read with {@link #findOnPrimary} and
+ * the refresh path gets no read scaling from secondaries.
+ */
+@Component
+public class MongoReadRouting {
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final ReadPreference readPreference;
+
+    public MongoReadRouting(MongoTemplate mongoTemplate,
+                            @Value("${auth.mongo.read-routing.enabled:false}") boolean enabled,
+                            @Value("${auth.mongo.read-routing.read-preference:secondaryPreferred}") String readPreference,
+                            @Value("${auth.mongo.read-routing.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.readPreference = maxStalenessSeconds > 0 && !"primary".equals(readPreference)
+                ? ReadPreference.valueOf(readPreference, List.of(), maxStalenessSeconds, TimeUnit.SECONDS)
+                : ReadPreference.valueOf(readPreference);
+    }
+
+    public <T> Optional<T> findOne(Query query, Class<T> type) {
+        return findOne(query, type, mongoTemplate.getCollectionName(type));
+    }
+
+    public <T> Optional<T> findOne(Query query, Class<T> type, String collectionName) {
+        if (!enabled) {
+            return Optional.ofNullable(mongoTemplate.findOne(query, type, collectionName));
+        }
+        T routed = mongoTemplate.findOne(Query.of(query).withReadPreference(readPreference), type, collectionName);
+        if (routed != null) {
+            return Optional.of(routed);
+        }
+        // A miss may only be replication lag, so confirm it on the primary
+        return findOnPrimary(query, type, collectionName);
+    }
+
+    public <T> Optional<T> findOnPrimary(Query query, Class<T> type, String collectionName) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+                Query.of(query).withReadPreference(ReadPreference.primary()), type, collectionName));
+    }
+}
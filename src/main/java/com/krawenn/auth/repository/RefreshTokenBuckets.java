@@ -0,0 +1,198 @@
+package com.krawenn.auth.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.IsoFields;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Optional layout that stores refresh tokens in one collection per ISO week
+ * of their expiry ({@code refresh_tokens_<yyyy>_w<ww>}, UTC). New tokens are
+ * prefixed with their bucket ({@code 2026w43.<uuid>}), so a lookup goes
+ * straight to one collection, and expiry is dropping a whole bucket once its
+ * week has passed instead of deleting documents one by one. Tokens without
+ * a prefix, and every token while the layout is disabled, live in the
+ * regular {@code refresh_tokens} collection. Buckets written while the layout
+ * was enabled keep being searched, cleared by logout and dropped after it is
+ * turned off, until their tokens have expired.
+ */
+@Slf4j
+@Component
+public class RefreshTokenBuckets {
+    private static final String BASE_COLLECTION = "refresh_tokens";
+    private static final Pattern TOKEN_PREFIX = Pattern.compile("^(\\d{4})w(\\d{2})\\.");
+    private static final Pattern BUCKET_COLLECTION = Pattern.compile("^refresh_tokens_(\\d{4})_w(\\d{2})$");
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final long tokenLifetimeMs;
+    private final long dropGraceMs;
+    private final long dropIntervalMs;
+    private final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> existingBuckets = Set.of();
+    private ScheduledExecutorService dropper;
+
+    public RefreshTokenBuckets(MongoTemplate mongoTemplate,
+                               @Value("${auth.refresh-token.buckets.enabled:false}") boolean enabled,
+                               @Value("${auth.refresh-token.lifetime-ms:604800000}") long tokenLifetimeMs,
+                               @Value("${auth.refresh-token.buckets.drop-grace-ms:3600000}") long dropGraceMs,
+                               @Value("${auth.refresh-token.buckets.drop-interval-ms:3600000}") long dropIntervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.dropGraceMs = dropGraceMs;
+        this.dropIntervalMs = dropIntervalMs;
+    }
+
+    // Runs whatever the flag says, so buckets from an earlier enabled period are found and eventually dropped
+    @PostConstruct
+    public void start() {
+        dropQuietly();
+        if (dropIntervalMs <= 0) {
+            return;
+        }
+        dropper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-token-bucket-dropper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dropper.scheduleWithFixedDelay(this::dropQuietly, dropIntervalMs, dropIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dropper != null) {
+            dropper.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The one source of the refresh token lifetime, so liveCollections() always covers every issued token
+    public Instant newTokenExpiry() {
+        return Instant.now().plusMillis(tokenLifetimeMs);
+    }
+
+    public String newToken(Instant expiry) {
+        String token = UUID.randomUUID().toString();
+        if (!enabled) {
+            return token;
+        }
+        LocalDate date = expiry.atZone(ZoneOffset.UTC).toLocalDate();
+        return String.format("%04dw%02d.%s", date.get(IsoFields.WEEK_BASED_YEAR),
+                date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), token);
+    }
+
+    // Derived from the token alone, so a forged prefix can only ever point at another bucket collection
+    public String collectionForToken(String token) {
+        if (token == null) {
+            return BASE_COLLECTION;
+        }
+        Matcher matcher = TOKEN_PREFIX.matcher(token);
+        if (!matcher.find()) {
+            return BASE_COLLECTION;
+        }
+        int week = Integer.parseInt(matcher.group(2));
+        if (week < 1 || week > 53) {
+            return BASE_COLLECTION;
+        }
+        return bucketCollection(Integer.parseInt(matcher.group(1)), week);
+    }
+
+    /**
+     * Collections that may hold unexpired tokens: the regular collection,
+     * every weekly bucket between now and the token lifetime, and any bucket
+     * that exists but has not been dropped yet.
+     */
+    public Set<String> liveCollections() {
+        Set<String> collections = new LinkedHashSet<>();
+        collections.add(BASE_COLLECTION);
+        if (enabled) {
+            LocalDate day = LocalDate.now(ZoneOffset.UTC);
+            LocalDate last = newTokenExpiry().atZone(ZoneOffset.UTC).toLocalDate();
+            for (; !day.isAfter(last.with(DayOfWeek.SUNDAY)); day = day.plusWeeks(1)) {
+                collections.add(bucketCollection(day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+            }
+        }
+        collections.addAll(existingBuckets);
+        return collections;
+    }
+
+    public void ensureIndexes(String collection) {
+        if (!enabled || collection.equals(BASE_COLLECTION) || indexedCollections.contains(collection)) {
+            return;
+        }
+        IndexOperations indexOps = mongoTemplate.indexOps(collection);
+        indexOps.ensureIndex(new Index().on("token", Sort.Direction.ASC).unique());
+        indexOps.ensureIndex(new Index().on("userId", Sort.Direction.ASC));
+        indexedCollections.add(collection);
+    }
+
+    public int dropExpiredBuckets() {
+        return dropExpiredBuckets(Instant.now());
+    }
+
+    int dropExpiredBuckets(Instant now) {
+        int dropped = 0;
+        Set<String> remaining = new LinkedHashSet<>();
+        for (String collection : mongoTemplate.getCollectionNames()) {
+            Matcher matcher = BUCKET_COLLECTION.matcher(collection);
+            if (!matcher.matches()) {
+                continue;
+            }
+            Instant weekEnd = weekStart(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))
+                    .plusWeeks(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (now.isAfter(weekEnd.plusMillis(dropGraceMs))) {
+                mongoTemplate.dropCollection(collection);
+                indexedCollections.remove(collection);
+                log.info("Dropped expired refresh token bucket {}", collection);
+                dropped++;
+            } else {
+                remaining.add(collection);
+            }
+        }
+        existingBuckets = Set.copyOf(remaining);
+        return dropped;
+    }
+
+    private void dropQuietly() {
+        try {
+            dropExpiredBuckets();
+        } catch (RuntimeException ex) {
+            log.warn("Dropping expired refresh token buckets failed: {}", ex.getMessage());
+        }
+    }
+
+    private static String bucketCollection(int year, int week) {
+        return String.format("refresh_tokens_%04d_w%02d", year, week);
+    }
+
+    private static LocalDate weekStart(int year, int week) {
+        // January 4th always falls in week 1 of its week-based year
+        return LocalDate.of(year, 1, 4)
+                .with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, week)
+                .with(DayOfWeek.MONDAY);
+    }
+}
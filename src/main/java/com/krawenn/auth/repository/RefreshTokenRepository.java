@@ -2,9 +2,11 @@ package com.krawenn.auth.repository;
 
 import com.krawenn.auth.model.RefreshToken;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import java.util.Optional;
 
-public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
-    Optional<RefreshToken> findByToken(String token);
-    void deleteByUserId(String userId);
-} 
\ No newline at end of file
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String>, RefreshTokenRepositoryCustom {
+    // Served by RefreshTokenRepositoryCustomImpl so writes land in the token's bucket collection
+    @Override
+    <S extends RefreshToken> S save(S refreshToken);
+    @Override
+    void delete(RefreshToken refreshToken);
+}
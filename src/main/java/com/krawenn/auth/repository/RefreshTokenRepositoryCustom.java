@@ -0,0 +1,11 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.RefreshToken;
+import java.util.Optional;
+
+public interface RefreshTokenRepositoryCustom {
+    Optional<RefreshToken> findByToken(String token);
+    <S extends RefreshToken> S save(S refreshToken);
+    void delete(RefreshToken refreshToken);
+    void deleteByUserId(String userId);
+}
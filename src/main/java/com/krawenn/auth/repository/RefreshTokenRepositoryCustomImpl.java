@@ -0,0 +1,44 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryCustomImpl implements RefreshTokenRepositoryCustom {
+    private final MongoReadRouting readRouting;
+    private final MongoTemplate mongoTemplate;
+    private final RefreshTokenBuckets buckets;
+
+    // A lagging secondary could still return a token that logout or rotation already deleted
+    @Override
+    public Optional<RefreshToken> findByToken(String token) {
+        return readRouting.findOnPrimary(Query.query(Criteria.where("token").is(token)), RefreshToken.class,
+                buckets.collectionForToken(token));
+    }
+
+    @Override
+    public <S extends RefreshToken> S save(S refreshToken) {
+        String collection = buckets.collectionForToken(refreshToken.getToken());
+        buckets.ensureIndexes(collection);
+        return mongoTemplate.save(refreshToken, collection);
+    }
+
+    @Override
+    public void delete(RefreshToken refreshToken) {
+        mongoTemplate.remove(refreshToken, buckets.collectionForToken(refreshToken.getToken()));
+    }
+
+    // A user's token may sit in any bucket that has not expired yet
+    @Override
+    public void deleteByUserId(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId));
+        for (String collection : buckets.liveCollections()) {
+            mongoTemplate.remove(query, RefreshToken.class, collection);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.RefreshToken;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind buffer for refresh token replacement on login.
+ * Pending tokens are flushed as ordered bulk writes once the batch size is
+ * reached or the flush interval elapses, and stay visible to lookups until
+ * they are written. When the backlog reaches {@code max-pending} the caller
+ * flushes synchronously, so writes never pile up unbounded in memory.
+ * Tokens leave the buffer only after their batch is written; a failed batch
+ * stays pending and is retried by the next flush. Rewriting a batch is
+ * idempotent because it removes the users' tokens before inserting.
+ * <p>
+ * The buffer is local to the node that took the login. Other nodes only see
+ * the token once it is flushed, so a refresh that misses waits one flush
+ * interval and looks again on the primary; deployments should still pin
+ * sessions to a node. A crash loses whatever is pending, up to
+ * {@code max-pending} sessions, whose users have to log in again.
+ */
+@Slf4j
+@Component
+public class RefreshTokenWriteBehind {
+    private final MongoTemplate mongoTemplate;
+    private final RefreshTokenBuckets buckets;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxPending;
+
+    private final ConcurrentMap<String, RefreshToken> pendingByUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RefreshToken> pendingByToken = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    public RefreshTokenWriteBehind(MongoTemplate mongoTemplate,
+                                   RefreshTokenBuckets buckets,
+                                   @Value("${auth.refresh-token.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${auth.refresh-token.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${auth.refresh-token.write-behind.flush-interval-ms:100}") long flushIntervalMs,
+                                   @Value("${auth.refresh-token.write-behind.max-pending:10000}") int maxPending) {
+        this.mongoTemplate = mongoTemplate;
+        this.buckets = buckets;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPending = maxPending;
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "refresh-token-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void replaceForUser(RefreshToken refreshToken) {
+        if (refreshToken.getId() == null) {
+            refreshToken.setId(new ObjectId().toHexString());
+        }
+        pendingByToken.put(refreshToken.getToken(), refreshToken);
+        RefreshToken previous = pendingByUser.put(refreshToken.getUserId(), refreshToken);
+        if (previous != null) {
+            pendingByToken.remove(previous.getToken(), previous);
+        }
+        int pending = pendingByUser.size();
+        if (pending >= maxPending) {
+            flush();
+        } else if (pending >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    // Gives the node that buffered a token this one never saw a flush cycle to write it
+    public void awaitFlushInterval() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(flushIntervalMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Optional<RefreshToken> findPending(String token) {
+        return Optional.ofNullable(pendingByToken.get(token));
+    }
+
+    public boolean isSuperseded(RefreshToken stored) {
+        RefreshToken pending = pendingByUser.get(stored.getUserId());
+        return pending != null && !pending.getToken().equals(stored.getToken());
+    }
+
+    /**
+     * Drops the user's pending token and runs {@code deleteStored} under the
+     * flush lock. A batch being written may still hold the token after it
+     * left the pending maps; holding the lock lets that batch land first, so
+     * the delete removes it instead of the insert resurrecting it.
+     */
+    public void revokeUser(String userId, Runnable deleteStored) {
+        synchronized (flushLock) {
+            RefreshToken pending = pendingByUser.remove(userId);
+            if (pending != null) {
+                pendingByToken.remove(pending.getToken(), pending);
+            }
+            deleteStored.run();
+        }
+    }
+
+    public int pendingCount() {
+        return pendingByUser.size();
+    }
+
+    public void flush() {
+        synchronized (flushLock) {
+            while (!pendingByUser.isEmpty()) {
+                List<RefreshToken> batch = pendingByUser.values().stream().limit(batchSize).toList();
+                writeBatch(batch);
+                batch.forEach(this::removeWritten);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Refresh token flush failed on shutdown, writing {} tokens one by one", pendingByUser.size(), ex);
+            flushIndividually();
+        }
+        if (!pendingByUser.isEmpty()) {
+            log.error("Shutting down with {} refresh tokens not persisted", pendingByUser.size());
+        }
+    }
+
+    // Last chance before the buffer is lost: one failing token must not take its whole batch down with it
+    private void flushIndividually() {
+        synchronized (flushLock) {
+            for (RefreshToken refreshToken : List.copyOf(pendingByUser.values())) {
+                try {
+                    writeBatch(List.of(refreshToken));
+                } catch (RuntimeException ex) {
+                    log.error("Refresh token for user {} not persisted: {}", refreshToken.getUserId(), ex.getMessage());
+                    continue;
+                }
+                removeWritten(refreshToken);
+            }
+        }
+    }
+
+    // A newer login for the same user may have replaced the token meanwhile; that one stays pending
+    private void removeWritten(RefreshToken refreshToken) {
+        if (pendingByUser.remove(refreshToken.getUserId(), refreshToken)) {
+            pendingByToken.remove(refreshToken.getToken(), refreshToken);
+        }
+    }
+
+    // One ordered bulk per collection: drop the batch users' old tokens, then insert the new ones
+    private void writeBatch(List<RefreshToken> batch) {
+        List<String> userIds = batch.stream().map(RefreshToken::getUserId).toList();
+        Map<String, List<RefreshToken>> inserts = batch.stream()
+                .collect(Collectors.groupingBy(token -> buckets.collectionForToken(token.getToken())));
+        Set<String> collections = new LinkedHashSet<>(buckets.liveCollections());
+        collections.addAll(inserts.keySet());
+        for (String collection : collections) {
+            List<RefreshToken> tokens = inserts.getOrDefault(collection, List.of());
+            if (!tokens.isEmpty()) {
+                buckets.ensureIndexes(collection);
+            }
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, RefreshToken.class, collection);
+            operations.remove(Query.query(Criteria.where("userId").in(userIds)));
+            tokens.forEach(operations::insert);
+            operations.execute();
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Refresh token flush failed, {} tokens remain pending", pendingByUser.size(), ex);
+        }
+    }
+}
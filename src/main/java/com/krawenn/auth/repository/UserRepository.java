@@ -4,7 +4,10 @@ import com.krawenn.auth.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
-} 
\ No newline at end of file
+    // Served by UserRepositoryCustomImpl so it always reads the primary, whatever the client read preference
+    @Override
+    Optional<User> findById(String id);
+}
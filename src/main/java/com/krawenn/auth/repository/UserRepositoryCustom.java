@@ -0,0 +1,9 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.User;
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findById(String id);
+    Optional<User> incrementTokenVersion(String username);
+}
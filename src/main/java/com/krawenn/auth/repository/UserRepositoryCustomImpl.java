@@ -0,0 +1,35 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private final MongoReadRouting readRouting;
+    private final MongoTemplate mongoTemplate;
+
+    // Refresh mints access tokens from this user's role and token version, so a lagging copy is never acceptable
+    @Override
+    public Optional<User> findById(String id) {
+        return readRouting.findOnPrimary(Query.query(Criteria.where("id").is(id)), User.class,
+                mongoTemplate.getCollectionName(User.class));
+    }
+
+    // Single atomic $inc on the primary, returning the updated user
+    @Override
+    public Optional<User> incrementTokenVersion(String username) {
+        Update update = new Update()
+                .inc("tokenVersion", 1)
+                .currentDate("tokenVersionUpdatedAt");
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(Criteria.where("username").is(username)),
+                update, FindAndModifyOptions.options().returnNew(true), User.class));
+    }
+}
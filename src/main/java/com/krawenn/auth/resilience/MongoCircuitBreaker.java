@@ -0,0 +1,101 @@
+package com.krawenn.auth.resilience;
+
+import com.krawenn.auth.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for Mongo calls. After {@code failure-threshold} consecutive
+ * data access failures calls are rejected immediately with
+ * {@link ServiceUnavailableException} for {@code open-duration-ms}, after which a
+ * single trial call decides whether to close the circuit again.
+ */
+@Slf4j
+@Component
+public class MongoCircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openedAtMillis;
+
+    public MongoCircuitBreaker(@Value("${auth.resilience.mongo.failure-threshold:5}") int failureThreshold,
+                               @Value("${auth.resilience.mongo.open-duration-ms:10000}") long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        boolean trial = acquirePermission();
+        try {
+            T result = call.get();
+            onSuccess();
+            return result;
+        } catch (DataIntegrityViolationException ex) {
+            onSuccess();
+            throw ex;
+        } catch (DataAccessException ex) {
+            onFailure(ex);
+            throw ex;
+        } finally {
+            if (trial) {
+                trialInFlight.set(false);
+            }
+        }
+    }
+
+    public void run(Runnable call) {
+        execute(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private boolean acquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return false;
+        }
+        if (current == State.OPEN) {
+            if (System.currentTimeMillis() - openedAtMillis < openDurationMs) {
+                throw new ServiceUnavailableException();
+            }
+            state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        if (trialInFlight.compareAndSet(false, true)) {
+            return true;
+        }
+        throw new ServiceUnavailableException();
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Mongo circuit closed");
+        }
+    }
+
+    private void onFailure(DataAccessException ex) {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAtMillis = System.currentTimeMillis();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Mongo circuit opened for {} ms after: {}", openDurationMs, ex.getMessage());
+            }
+        }
+    }
+}
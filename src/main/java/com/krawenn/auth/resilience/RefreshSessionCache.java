@@ -0,0 +1,91 @@
+package com.krawenn.auth.resilience;
+
+import com.krawenn.auth.model.RefreshToken;
+import com.krawenn.auth.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Recently validated refresh tokens with the user details needed to mint a
+ * new access token. Only consulted while Mongo is unavailable, and entries
+ * older than {@code max-staleness-ms} are never served.
+ */
+@Component
+public class RefreshSessionCache {
+    public record CachedSession(String userId, String username, String role, long tokenVersion,
+                                Instant tokenExpiry, long validatedAtMillis) {
+    }
+
+    private final int maxEntries;
+    private final long maxStalenessMs;
+    private final ConcurrentMap<String, CachedSession> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> tokenByUser = new ConcurrentHashMap<>();
+
+    public RefreshSessionCache(@Value("${auth.resilience.refresh-cache.max-entries:100000}") int maxEntries,
+                               @Value("${auth.resilience.refresh-cache.max-staleness-ms:900000}") long maxStalenessMs) {
+        this.maxEntries = maxEntries;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    public void remember(RefreshToken refreshToken, User user) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (sessions.size() >= maxEntries) {
+            sessions.entrySet().removeIf(entry -> {
+                boolean stale = isStale(entry.getValue(), now);
+                if (stale) {
+                    tokenByUser.remove(entry.getValue().userId(), entry.getKey());
+                }
+                return stale;
+            });
+            if (sessions.size() >= maxEntries) {
+                return;
+            }
+        }
+        sessions.put(refreshToken.getToken(), new CachedSession(user.getId(), user.getUsername(), user.getRole(),
+                user.getTokenVersion(), refreshToken.getExpiryDate(), now));
+        // A user holds one refresh token at a time, so a new login replaces the cached one
+        String previous = tokenByUser.put(user.getId(), refreshToken.getToken());
+        if (previous != null && !previous.equals(refreshToken.getToken())) {
+            sessions.remove(previous);
+        }
+    }
+
+    public Optional<CachedSession> find(String token) {
+        CachedSession session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (isStale(session, System.currentTimeMillis())) {
+            evict(token);
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    public void evict(String token) {
+        CachedSession session = sessions.remove(token);
+        if (session != null) {
+            tokenByUser.remove(session.userId(), token);
+        }
+    }
+
+    public void evictUser(String userId) {
+        String token = tokenByUser.remove(userId);
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    private boolean isStale(CachedSession session, long now) {
+        return now - session.validatedAtMillis() > maxStalenessMs
+                || !session.tokenExpiry().isAfter(Instant.ofEpochMilli(now));
+    }
+}
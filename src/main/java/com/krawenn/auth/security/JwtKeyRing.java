@@ -0,0 +1,120 @@
+package com.krawenn.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signing and verification keys for JWTs, selected by the {@code kid} header.
+ * <p>
+ * Keys come from {@code jwt.keys.secrets.<kid>} with {@code jwt.keys.active}
+ * naming the signing key; a plain {@code jwt.secret} is kept as the
+ * {@value #LEGACY_KID} key and also verifies tokens issued without a
+ * {@code kid}. Keys and the parser are built once per rotation and swapped
+ * atomically when the configuration is refreshed, so in-flight requests keep
+ * using a consistent key set.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+    public static final String LEGACY_KID = "default";
+
+    public record KeySet(String activeKid, SecretKey activeKey, Map<String, SecretKey> verificationKeys, JwtParser parser) {
+    }
+
+    private final Environment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile KeySet current;
+
+    public JwtKeyRing(Environment environment, ApplicationEventPublisher eventPublisher) {
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.current = load();
+    }
+
+    public KeySet current() {
+        return current;
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith("jwt."))) {
+            reload();
+        }
+    }
+
+    public void reload() {
+        KeySet next;
+        try {
+            next = load();
+        } catch (IllegalStateException | JwtException ex) {
+            // JwtException covers secrets too short for HMAC-SHA (WeakKeyException)
+            log.error("Ignoring invalid JWT key configuration, keeping key '{}' active: {}",
+                    current.activeKid(), ex.getMessage());
+            return;
+        }
+        current = next;
+        log.info("JWT keys rotated: signing with '{}', verifying {}", next.activeKid(), next.verificationKeys().keySet());
+        eventPublisher.publishEvent(new JwtKeysRotatedEvent(next.activeKid()));
+    }
+
+    private KeySet load() {
+        Map<String, String> secrets = new HashMap<>(Binder.get(environment)
+                .bind("jwt.keys.secrets", Bindable.mapOf(String.class, String.class))
+                .orElseGet(Map::of));
+        String legacySecret = environment.getProperty("jwt.secret");
+        if (legacySecret != null) {
+            secrets.putIfAbsent(LEGACY_KID, legacySecret);
+        }
+        if (secrets.isEmpty()) {
+            throw new IllegalStateException("No JWT keys configured: set jwt.secret or jwt.keys.secrets");
+        }
+        String activeKid = environment.getProperty("jwt.keys.active", secrets.size() == 1
+                ? secrets.keySet().iterator().next() : LEGACY_KID);
+        if (!secrets.containsKey(activeKid)) {
+            throw new IllegalStateException("Active JWT key '" + activeKid + "' is not configured");
+        }
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        secrets.forEach((kid, secret) -> keys.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+        Map<String, SecretKey> verificationKeys = Map.copyOf(keys);
+        SecretKey keyWithoutKid = verificationKeys.getOrDefault(LEGACY_KID, verificationKeys.get(activeKid));
+
+        JwtParser parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            return keyWithoutKid;
+                        }
+                        SecretKey key = verificationKeys.get(kid);
+                        if (key == null) {
+                            throw new SignatureException("Unknown JWT key id: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        return new KeySet(activeKid, verificationKeys.get(activeKid), verificationKeys, parser);
+    }
+}
@@ -0,0 +1,4 @@
+package com.krawenn.auth.security;
+
+public record JwtKeysRotatedEvent(String activeKid) {
+}
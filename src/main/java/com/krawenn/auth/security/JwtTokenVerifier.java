@@ -0,0 +1,103 @@
+package com.krawenn.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class JwtTokenVerifier {
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final JwtUtil jwtUtil;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final int maxCacheSize;
+    private final ConcurrentMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    public JwtTokenVerifier(JwtUtil jwtUtil,
+                            TokenVersionRegistry tokenVersionRegistry,
+                            @Value("${jwt.verified-cache-size:10000}") int maxCacheSize) {
+        this.jwtUtil = jwtUtil;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.isExpired(now)) {
+                verifiedTokens.remove(token, cached);
+                return Optional.empty();
+            }
+            return isRevoked(cached) ? Optional.empty() : Optional.of(cached);
+        }
+        VerifiedToken verified;
+        try {
+            verified = toVerifiedToken(jwtUtil.extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (verified.isExpired(now)) {
+            return Optional.empty();
+        }
+        cache(token, verified, now);
+        return isRevoked(verified) ? Optional.empty() : Optional.of(verified);
+    }
+
+    public void invalidateAll() {
+        verifiedTokens.clear();
+    }
+
+    // Tokens signed with a retired key must be checked against the new key set
+    @EventListener
+    public void onKeysRotated(JwtKeysRotatedEvent event) {
+        invalidateAll();
+    }
+
+    // For callers that need claims beyond the verified token, after parsing them through JwtUtil
+    public boolean isCurrent(Claims claims) {
+        return tokenVersionRegistry.isCurrent(claims.getSubject(), tokenVersion(claims));
+    }
+
+    // Checked on every call, cached or not, so logout-all takes effect without flushing the cache
+    private boolean isRevoked(VerifiedToken verified) {
+        return !tokenVersionRegistry.isCurrent(verified.username(), verified.tokenVersion());
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        String role = claims.get("role", String.class);
+        List<GrantedAuthority> authorities = role == null
+                ? List.of()
+                : List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role));
+        return new VerifiedToken(claims.getSubject(), role, tokenVersion(claims),
+                claims.getExpiration().getTime(), authorities);
+    }
+
+    // Tokens issued before versioning carry no claim and count as version 0
+    private static long tokenVersion(Claims claims) {
+        Number version = claims.get(JwtUtil.VERSION_CLAIM, Number.class);
+        return version == null ? 0L : version.longValue();
+    }
+
+    private void cache(String token, VerifiedToken verified, long now) {
+        if (maxCacheSize <= 0) {
+            return;
+        }
+        if (verifiedTokens.size() >= maxCacheSize) {
+            verifiedTokens.values().removeIf(entry -> entry.isExpired(now));
+            if (verifiedTokens.size() >= maxCacheSize) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(token, verified);
+    }
+}
@@ -2,40 +2,46 @@ package com.krawenn.auth.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String VERSION_CLAIM = "ver";
+
+    private final JwtKeyRing keyRing;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationInMs;
 
     public String generateToken(String username, String role) {
+        return generateToken(username, role, 0L);
+    }
+
+    public String generateToken(String username, String role, long tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("iss", "league-auth-service");
         claims.put("role", role);
+        claims.put(VERSION_CLAIM, tokenVersion);
         return createToken(claims, username);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        JwtKeyRing.KeySet keys = keyRing.current();
         return Jwts.builder()
+                .setHeaderParam("kid", keys.activeKid())
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
-                .signWith(key)
+                .signWith(keys.activeKey())
                 .compact();
     }
 
@@ -57,11 +63,8 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+    public Claims extractAllClaims(String token) {
+        return keyRing.current().parser()
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -73,4 +76,4 @@ public class JwtUtil {
     public String extractRole(String token) {
         return extractAllClaims(token).get("role", String.class);
     }
-} 
\ No newline at end of file
+}
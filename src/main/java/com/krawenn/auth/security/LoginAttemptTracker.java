@@ -0,0 +1,276 @@
+package com.krawenn.auth.security;
+
+import com.krawenn.auth.model.LoginLockout;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Failed login counting and account lockout without a database write per
+ * attempt. Each user's recent failure timestamps live in one of several
+ * lock-striped LRU maps, so memory is bounded and contention stays low under
+ * a credential stuffing burst. An account locks when {@code max-failures}
+ * failures fall inside the sliding {@code window-ms}.
+ * <p>
+ * Failure counts and lockouts are merged per user and upserted into
+ * {@code login_lockouts} in batches every {@code sync-interval-ms}; the same
+ * task polls lockouts written by other nodes, so a lock reaches the whole
+ * cluster within one interval. Failures are counted per node only: with
+ * {@code k} nodes behind a load balancer an attacker gets up to
+ * {@code k * max-failures} attempts per window before the first lock.
+ * Documents expire through a TTL index on {@code updatedAt} once neither
+ * the window nor a lock can still depend on them.
+ */
+@Slf4j
+@Component
+public class LoginAttemptTracker {
+    private record PendingWrite(long failures, long lockedUntilMillis) {
+    }
+
+    private static final class Attempts {
+        private final long[] failureTimes;
+        private int next;
+        private int count;
+
+        private Attempts(int maxFailures) {
+            this.failureTimes = new long[maxFailures];
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int maxFailures;
+    private final long windowMs;
+    private final long lockDurationMs;
+    private final int maxTracked;
+    private final int batchSize;
+    private final long syncIntervalMs;
+    private final long clockSkewMs;
+    private final List<Map<String, Attempts>> stripes;
+    private final ConcurrentMap<String, Long> lockedUntil = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private volatile long lastPollMillis;
+    private ScheduledExecutorService syncer;
+
+    public LoginAttemptTracker(MongoTemplate mongoTemplate,
+                               @Value("${auth.lockout.enabled:true}") boolean enabled,
+                               @Value("${auth.lockout.max-failures:5}") int maxFailures,
+                               @Value("${auth.lockout.window-ms:900000}") long windowMs,
+                               @Value("${auth.lockout.lock-duration-ms:900000}") long lockDurationMs,
+                               @Value("${auth.lockout.max-tracked:100000}") int maxTracked,
+                               @Value("${auth.lockout.stripes:64}") int stripeCount,
+                               @Value("${auth.lockout.batch-size:500}") int batchSize,
+                               @Value("${auth.lockout.sync-interval-ms:1000}") long syncIntervalMs,
+                               @Value("${auth.lockout.clock-skew-ms:5000}") long clockSkewMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.maxFailures = maxFailures;
+        this.windowMs = windowMs;
+        this.lockDurationMs = lockDurationMs;
+        this.maxTracked = maxTracked;
+        this.batchSize = batchSize;
+        this.syncIntervalMs = syncIntervalMs;
+        this.clockSkewMs = clockSkewMs;
+        int maxPerStripe = Math.max(1, maxTracked / stripeCount);
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Attempts> eldest) {
+                    return size() > maxPerStripe;
+                }
+            });
+        }
+        this.lastPollMillis = System.currentTimeMillis() - lockDurationMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || syncIntervalMs <= 0) {
+            return;
+        }
+        try {
+            ensureIndexes();
+        } catch (RuntimeException ex) {
+            log.warn("Could not ensure login lockout indexes: {}", ex.getMessage());
+        }
+        syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-lockout-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, 0, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (syncer == null) {
+            return;
+        }
+        syncer.shutdownNow();
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Dropping {} unsaved login lockout updates on shutdown: {}", pendingWrites.size(), ex.getMessage());
+        }
+    }
+
+    public boolean isLocked(String username) {
+        return isLocked(username, System.currentTimeMillis());
+    }
+
+    boolean isLocked(String username, long now) {
+        if (!enabled) {
+            return false;
+        }
+        Long until = lockedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until > now) {
+            return true;
+        }
+        lockedUntil.remove(username, until);
+        return false;
+    }
+
+    public boolean recordFailure(String username) {
+        return recordFailure(username, System.currentTimeMillis());
+    }
+
+    boolean recordFailure(String username, long now) {
+        if (!enabled) {
+            return false;
+        }
+        boolean locked;
+        Map<String, Attempts> stripe = stripeFor(username);
+        synchronized (stripe) {
+            Attempts attempts = stripe.computeIfAbsent(username, key -> new Attempts(maxFailures));
+            attempts.failureTimes[attempts.next] = now;
+            attempts.next = (attempts.next + 1) % maxFailures;
+            attempts.count = Math.min(attempts.count + 1, maxFailures);
+            // Once the ring is full, next points at the oldest of the last maxFailures failures
+            locked = attempts.count == maxFailures && now - attempts.failureTimes[attempts.next] < windowMs;
+            if (locked) {
+                stripe.remove(username);
+            }
+        }
+        long until = locked ? now + lockDurationMs : 0L;
+        if (locked) {
+            lockedUntil.merge(username, until, Math::max);
+        }
+        // Plain counts are informational, so they are dropped rather than buffered without bound
+        if (locked || pendingWrites.size() < maxTracked) {
+            pendingWrites.merge(username, new PendingWrite(1, until), LoginAttemptTracker::combine);
+        }
+        return locked;
+    }
+
+    public void recordSuccess(String username) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Attempts> stripe = stripeFor(username);
+        synchronized (stripe) {
+            stripe.remove(username);
+        }
+    }
+
+    public void flush() {
+        List<String> usernames = new ArrayList<>(pendingWrites.keySet());
+        for (int start = 0; start < usernames.size(); start += batchSize) {
+            Map<String, PendingWrite> batch = new LinkedHashMap<>();
+            for (String username : usernames.subList(start, Math.min(start + batchSize, usernames.size()))) {
+                PendingWrite write = pendingWrites.remove(username);
+                if (write != null) {
+                    batch.put(username, write);
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException ex) {
+                batch.forEach((username, write) -> pendingWrites.merge(username, write, LoginAttemptTracker::combine));
+                throw ex;
+            }
+        }
+    }
+
+    public void poll() {
+        long now = System.currentTimeMillis();
+        // Overlap by the allowed clock skew so locks stamped just before the previous poll are not missed
+        Query query = Query.query(Criteria.where("updatedAt").gte(Instant.ofEpochMilli(lastPollMillis - clockSkewMs))
+                .and("lockedUntil").gt(Instant.ofEpochMilli(now)));
+        query.fields().include("lockedUntil");
+        for (LoginLockout lockout : mongoTemplate.find(query, LoginLockout.class)) {
+            lockedUntil.merge(lockout.getUsername(), lockout.getLockedUntil().toEpochMilli(), Math::max);
+        }
+        lastPollMillis = now;
+        lockedUntil.values().removeIf(until -> until <= now);
+    }
+
+    // Auto index creation is off, so the TTL index that bounds the collection is created here; it also serves the poll
+    void ensureIndexes() {
+        long ttlMs = Math.max(windowMs, lockDurationMs) + clockSkewMs;
+        mongoTemplate.indexOps(LoginLockout.class).ensureIndex(new Index().on("updatedAt", Sort.Direction.ASC)
+                .expire(TimeUnit.MILLISECONDS.toSeconds(ttlMs), TimeUnit.SECONDS));
+    }
+
+    private void writeBatch(Map<String, PendingWrite> batch) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoginLockout.class);
+        batch.forEach((username, write) -> {
+            Update update = new Update()
+                    .inc("failedAttempts", write.failures())
+                    .currentDate("updatedAt");
+            if (write.lockedUntilMillis() > 0) {
+                update.max("lockedUntil", Instant.ofEpochMilli(write.lockedUntilMillis()));
+            }
+            operations.upsert(Query.query(Criteria.where("_id").is(username)), update);
+        });
+        operations.execute();
+    }
+
+    private void syncQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Login lockout flush failed, {} updates remain pending: {}", pendingWrites.size(), ex.getMessage());
+        }
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            log.warn("Login lockout poll failed, keeping {} known locks: {}", lockedUntil.size(), ex.getMessage());
+        }
+    }
+
+    private Map<String, Attempts> stripeFor(String username) {
+        return stripes.get(Math.floorMod(username.hashCode(), stripes.size()));
+    }
+
+    private static PendingWrite combine(PendingWrite current, PendingWrite added) {
+        return new PendingWrite(current.failures() + added.failures(),
+                Math.max(current.lockedUntilMillis(), added.lockedUntilMillis()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.krawenn.auth.security;
+
+import com.krawenn.auth.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimum accepted token version for users who logged out everywhere while
+ * their old access tokens could still be alive. Only those users are held,
+ * so a check is a single map lookup and users who never revoked pass with
+ * version 0. Other nodes pick up increments by polling users whose
+ * {@code tokenVersionUpdatedAt} moved since the previous poll; entries older
+ * than the access token lifetime are pruned because every token they could
+ * reject has expired.
+ */
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+    private record Revocation(long minVersion, long updatedAtMillis) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final long pollIntervalMs;
+    private final long clockSkewMs;
+    private final long retentionMs;
+    private final ConcurrentMap<String, Revocation> revocations = new ConcurrentHashMap<>();
+    private volatile long lastPollMillis;
+    private ScheduledExecutorService poller;
+
+    public TokenVersionRegistry(MongoTemplate mongoTemplate,
+                                @Value("${auth.token-version.poll-interval-ms:1000}") long pollIntervalMs,
+                                @Value("${auth.token-version.clock-skew-ms:5000}") long clockSkewMs,
+                                @Value("${jwt.expiration}") long jwtExpirationMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.pollIntervalMs = pollIntervalMs;
+        this.clockSkewMs = clockSkewMs;
+        this.retentionMs = jwtExpirationMs + clockSkewMs;
+        this.lastPollMillis = System.currentTimeMillis() - retentionMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (pollIntervalMs <= 0) {
+            return;
+        }
+        try {
+            ensureIndexes();
+        } catch (RuntimeException ex) {
+            log.warn("Could not ensure token version index: {}", ex.getMessage());
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-version-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollQuietly, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    public boolean isCurrent(String username, long tokenVersion) {
+        Revocation revocation = revocations.get(username);
+        return revocation == null || tokenVersion >= revocation.minVersion();
+    }
+
+    public void advance(String username, long minVersion, Instant updatedAt) {
+        Revocation next = new Revocation(minVersion, updatedAt.toEpochMilli());
+        revocations.merge(username, next, (current, candidate) ->
+                candidate.minVersion() > current.minVersion() ? candidate : current);
+    }
+
+    public void poll() {
+        long now = System.currentTimeMillis();
+        // Overlap by the allowed clock skew so increments stamped by a node running behind are not missed
+        Query query = Query.query(Criteria.where("tokenVersionUpdatedAt")
+                .gte(Instant.ofEpochMilli(lastPollMillis - clockSkewMs)));
+        query.fields().include("username", "tokenVersion", "tokenVersionUpdatedAt");
+        for (User user : mongoTemplate.find(query, User.class)) {
+            advance(user.getUsername(), user.getTokenVersion(), user.getTokenVersionUpdatedAt());
+        }
+        lastPollMillis = now;
+        long cutoff = now - retentionMs;
+        revocations.values().removeIf(revocation -> revocation.updatedAtMillis() < cutoff);
+    }
+
+    // Every node polls every second; sparse because only users who ever logged out everywhere carry the field
+    void ensureIndexes() {
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("tokenVersionUpdatedAt", Sort.Direction.ASC).sparse());
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            log.warn("Token version poll failed, keeping {} known revocations: {}", revocations.size(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.krawenn.auth.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+public record VerifiedToken(String username, String role, long tokenVersion, long expiresAtMillis, List<GrantedAuthority> authorities) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,9 @@
+package com.krawenn.auth.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AdminExportService {
+    void exportUsers(OutputStream out) throws IOException;
+    void exportSessions(OutputStream out) throws IOException;
+}
@@ -8,4 +8,5 @@ public interface AuthService {
     void register(AuthRequest request);
     AuthResponse login(AuthRequest request);
     AuthResponse refreshToken(RefreshRequest request);
+    void logoutAll(String username);
 }
\ No newline at end of file
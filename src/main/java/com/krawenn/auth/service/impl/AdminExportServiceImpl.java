@@ -0,0 +1,104 @@
+package com.krawenn.auth.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.dto.SessionExportRecord;
+import com.krawenn.auth.dto.UserExportRecord;
+import com.krawenn.auth.model.RefreshToken;
+import com.krawenn.auth.model.User;
+import com.krawenn.auth.repository.RefreshTokenBuckets;
+import com.krawenn.auth.service.AdminExportService;
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams users and active sessions as NDJSON. Documents are read in
+ * {@code _id}-ordered pages ({@code _id > last seen}), each through its own
+ * cursor, so no cursor outlives a page and memory holds at most one cursor
+ * batch. Records are written straight to the response stream; a slow client
+ * blocks the write, which stops the next batch being fetched. Sessions are
+ * read from every refresh token collection that may hold live tokens.
+ * Password hashes and refresh token values are never selected.
+ */
+@Service
+public class AdminExportServiceImpl implements AdminExportService {
+    private static final byte NEWLINE = '\n';
+
+    private final MongoTemplate mongoTemplate;
+    private final RefreshTokenBuckets refreshTokenBuckets;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int cursorBatchSize;
+    private final ReadPreference readPreference;
+
+    public AdminExportServiceImpl(MongoTemplate mongoTemplate,
+                                  RefreshTokenBuckets refreshTokenBuckets,
+                                  ObjectMapper objectMapper,
+                                  @Value("${auth.admin.export.page-size:10000}") int pageSize,
+                                  @Value("${auth.admin.export.cursor-batch-size:500}") int cursorBatchSize,
+                                  @Value("${auth.admin.export.read-preference:secondaryPreferred}") String readPreference) {
+        this.mongoTemplate = mongoTemplate;
+        this.refreshTokenBuckets = refreshTokenBuckets;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.cursorBatchSize = cursorBatchSize;
+        this.readPreference = ReadPreference.valueOf(readPreference);
+    }
+
+    @Override
+    public void exportUsers(OutputStream out) throws IOException {
+        export(User.class, mongoTemplate.getCollectionName(User.class), null,
+                new String[]{"username", "email", "role", "tokenVersion"}, User::getId,
+                user -> new UserExportRecord(user.getId(), user.getUsername(), user.getEmail(), user.getRole(),
+                        user.getTokenVersion()), out);
+    }
+
+    @Override
+    public void exportSessions(OutputStream out) throws IOException {
+        Instant now = Instant.now();
+        for (String collection : refreshTokenBuckets.liveCollections()) {
+            export(RefreshToken.class, collection, Criteria.where("expiryDate").gt(now),
+                    new String[]{"userId", "expiryDate"}, RefreshToken::getId,
+                    token -> new SessionExportRecord(token.getId(), token.getUserId(), token.getExpiryDate()), out);
+        }
+    }
+
+    private <T> void export(Class<T> type, String collection, Criteria filter, String[] fields, Function<T, String> idOf,
+                            Function<T, Object> toRecord, OutputStream out) throws IOException {
+        String lastId = null;
+        int count;
+        do {
+            Query query = new Query();
+            if (filter != null) {
+                query.addCriteria(filter);
+            }
+            if (lastId != null) {
+                query.addCriteria(Criteria.where("id").gt(lastId));
+            }
+            query.fields().include(fields);
+            query.with(Sort.by("id")).limit(pageSize).cursorBatchSize(cursorBatchSize).withReadPreference(readPreference);
+            count = 0;
+            try (Stream<T> page = mongoTemplate.stream(query, type, collection)) {
+                for (Iterator<T> documents = page.iterator(); documents.hasNext(); ) {
+                    T document = documents.next();
+                    out.write(objectMapper.writeValueAsBytes(toRecord.apply(document)));
+                    out.write(NEWLINE);
+                    lastId = idOf.apply(document);
+                    count++;
+                }
+            }
+            out.flush();
+        } while (count == pageSize);
+    }
+}
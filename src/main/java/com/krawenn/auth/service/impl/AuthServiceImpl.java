@@ -1,24 +1,35 @@
 package com.krawenn.auth.service.impl;
 
+import com.krawenn.auth.audit.AuditEventType;
+import com.krawenn.auth.audit.AuthAuditPublisher;
 import com.krawenn.auth.dto.AuthRequest;
 import com.krawenn.auth.dto.AuthResponse;
 import com.krawenn.auth.dto.RefreshRequest;
+import com.krawenn.auth.exception.AccountLockedException;
 import com.krawenn.auth.exception.InvalidCredentialsException;
+import com.krawenn.auth.exception.ServiceUnavailableException;
 import com.krawenn.auth.exception.UserAlreadyExistsException;
 import com.krawenn.auth.exception.UserNotFoundException;
 import com.krawenn.auth.model.RefreshToken;
 import com.krawenn.auth.model.User;
+import com.krawenn.auth.repository.RefreshTokenBuckets;
 import com.krawenn.auth.repository.RefreshTokenRepository;
+import com.krawenn.auth.repository.RefreshTokenWriteBehind;
 import com.krawenn.auth.repository.UserRepository;
+import com.krawenn.auth.resilience.MongoCircuitBreaker;
+import com.krawenn.auth.resilience.RefreshSessionCache;
 import com.krawenn.auth.security.JwtUtil;
+import com.krawenn.auth.security.LoginAttemptTracker;
+import com.krawenn.auth.security.TokenVersionRegistry;
 import com.krawenn.auth.service.AuthService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.UUID;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -27,53 +38,127 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final RefreshTokenRepository refreshTokenRepository;
-    private static final long REFRESH_TOKEN_DURATION_MS = 7 * 24 * 60 * 60 * 1000; // 7 days
+    private final RefreshTokenWriteBehind refreshTokenWriteBehind;
+    private final RefreshTokenBuckets refreshTokenBuckets;
+    private final AuthAuditPublisher auditPublisher;
+    private final MongoCircuitBreaker mongoCircuitBreaker;
+    private final RefreshSessionCache refreshSessionCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final LoginAttemptTracker loginAttemptTracker;
 
     @Override
     public void register(AuthRequest request) {
-        if (userRepository.findByUsername(request.getUsername()).isPresent() ||
-            userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new UserAlreadyExistsException();
+        if (mongoCircuitBreaker.execute(() -> userRepository.findByUsername(request.getUsername())).isPresent() ||
+            mongoCircuitBreaker.execute(() -> userRepository.findByEmail(request.getEmail())).isPresent()) {
+            throw audited(AuditEventType.REGISTER_FAILURE, request.getUsername(), null, new UserAlreadyExistsException());
         }
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRole("USER");
-        userRepository.save(user);
+        mongoCircuitBreaker.execute(() -> userRepository.save(user));
+        auditPublisher.publish(AuditEventType.REGISTER, user.getUsername(), user.getId(), null);
     }
 
     @Override
     public AuthResponse login(AuthRequest request) {
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(UserNotFoundException::new);
+        // Rejected before the user lookup and BCrypt check, so locked accounts cost one map lookup
+        if (loginAttemptTracker.isLocked(request.getUsername())) {
+            throw audited(AuditEventType.LOGIN_LOCKED, request.getUsername(), null, new AccountLockedException());
+        }
+        User user = mongoCircuitBreaker.execute(() -> userRepository.findByUsername(request.getUsername()))
+                .orElseThrow(() -> audited(AuditEventType.LOGIN_FAILURE, request.getUsername(), null, new UserNotFoundException()));
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new InvalidCredentialsException();
+            loginAttemptTracker.recordFailure(user.getUsername());
+            throw audited(AuditEventType.LOGIN_FAILURE, user.getUsername(), user.getId(), new InvalidCredentialsException());
         }
-        // Remove old refresh tokens
-        refreshTokenRepository.deleteByUserId(user.getId());
+        loginAttemptTracker.recordSuccess(user.getUsername());
         // Generate new refresh token
-        String refreshTokenStr = UUID.randomUUID().toString();
+        Instant expiryDate = refreshTokenBuckets.newTokenExpiry();
+        String refreshTokenStr = refreshTokenBuckets.newToken(expiryDate);
         RefreshToken refreshToken = new RefreshToken();
         refreshToken.setUserId(user.getId());
         refreshToken.setToken(refreshTokenStr);
-        refreshToken.setExpiryDate(Instant.now().plusMillis(REFRESH_TOKEN_DURATION_MS));
-        refreshTokenRepository.save(refreshToken);
+        refreshToken.setExpiryDate(expiryDate);
+        if (refreshTokenWriteBehind.isEnabled()) {
+            // Old tokens are removed when the queued replacement is flushed
+            refreshTokenWriteBehind.replaceForUser(refreshToken);
+        } else {
+            // Remove old refresh tokens
+            mongoCircuitBreaker.run(() -> refreshTokenRepository.deleteByUserId(user.getId()));
+            mongoCircuitBreaker.execute(() -> refreshTokenRepository.save(refreshToken));
+        }
+        refreshSessionCache.remember(refreshToken, user);
+        auditPublisher.publish(AuditEventType.LOGIN_SUCCESS, user.getUsername(), user.getId(), null);
         // Return both tokens
-        return new AuthResponse(jwtUtil.generateToken(user.getUsername(), user.getRole()), refreshTokenStr, user.getRole());
+        return new AuthResponse(jwtUtil.generateToken(user.getUsername(), user.getRole(), user.getTokenVersion()), refreshTokenStr, user.getRole());
     }
 
     @Override
     public AuthResponse refreshToken(RefreshRequest request) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(request.getRefreshToken())
-                .orElseThrow(() -> new InvalidCredentialsException("Invalid refresh token"));
-        if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new InvalidCredentialsException("Refresh token expired");
+        try {
+            return refreshFromStore(request);
+        } catch (ServiceUnavailableException | DataAccessException ex) {
+            // Mongo is failing or its circuit is open: serve recently validated sessions, fail otherwise
+            RefreshSessionCache.CachedSession session = refreshSessionCache.find(request.getRefreshToken())
+                    .orElseThrow(() -> ex);
+            auditPublisher.publish(AuditEventType.REFRESH_SUCCESS, session.username(), session.userId(), "served from cache");
+            return new AuthResponse(jwtUtil.generateToken(session.username(), session.role(), session.tokenVersion()),
+                    request.getRefreshToken(), session.role());
         }
-        User user = userRepository.findById(refreshToken.getUserId())
+    }
+
+    @Override
+    public void logoutAll(String username) {
+        User user = mongoCircuitBreaker.execute(() -> userRepository.findByUsername(username))
+                .orElseThrow(UserNotFoundException::new);
+        // Drop refresh tokens first so none of them can mint an access token with the new version
+        refreshSessionCache.evictUser(user.getId());
+        refreshTokenWriteBehind.revokeUser(user.getId(),
+                () -> mongoCircuitBreaker.run(() -> refreshTokenRepository.deleteByUserId(user.getId())));
+        User updated = mongoCircuitBreaker.execute(() -> userRepository.incrementTokenVersion(username))
                 .orElseThrow(UserNotFoundException::new);
-        String newJwt = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        tokenVersionRegistry.advance(username, updated.getTokenVersion(), updated.getTokenVersionUpdatedAt());
+        auditPublisher.publish(AuditEventType.LOGOUT_ALL, username, user.getId(), null);
+    }
+
+    private AuthResponse refreshFromStore(RefreshRequest request) {
+        RefreshToken refreshToken = findRefreshToken(request.getRefreshToken())
+                .filter(token -> !refreshTokenWriteBehind.isSuperseded(token))
+                .orElseThrow(() -> audited(AuditEventType.REFRESH_FAILURE, null, null,
+                        new InvalidCredentialsException("Invalid refresh token")));
+        if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
+            refreshSessionCache.evict(refreshToken.getToken());
+            mongoCircuitBreaker.run(() -> refreshTokenRepository.delete(refreshToken));
+            throw audited(AuditEventType.REFRESH_FAILURE, null, refreshToken.getUserId(),
+                    new InvalidCredentialsException("Refresh token expired"));
+        }
+        User user = mongoCircuitBreaker.execute(() -> userRepository.findById(refreshToken.getUserId()))
+                .orElseThrow(() -> audited(AuditEventType.REFRESH_FAILURE, null, refreshToken.getUserId(), new UserNotFoundException()));
+        refreshSessionCache.remember(refreshToken, user);
+        String newJwt = jwtUtil.generateToken(user.getUsername(), user.getRole(), user.getTokenVersion());
+        auditPublisher.publish(AuditEventType.REFRESH_SUCCESS, user.getUsername(), user.getId(), null);
         return new AuthResponse(newJwt, refreshToken.getToken(), user.getRole());
     }
-} 
\ No newline at end of file
+
+    // With write-behind the token may still be buffered on the node that issued it; look again after its next flush
+    private Optional<RefreshToken> findRefreshToken(String token) {
+        Optional<RefreshToken> found = lookupRefreshToken(token);
+        if (found.isEmpty() && refreshTokenWriteBehind.isEnabled()) {
+            refreshTokenWriteBehind.awaitFlushInterval();
+            found = lookupRefreshToken(token);
+        }
+        return found;
+    }
+
+    private Optional<RefreshToken> lookupRefreshToken(String token) {
+        return refreshTokenWriteBehind.findPending(token)
+                .or(() -> mongoCircuitBreaker.execute(() -> refreshTokenRepository.findByToken(token)));
+    }
+
+    private <E extends RuntimeException> E audited(AuditEventType type, String username, String userId, E ex) {
+        auditPublisher.publish(type, username, userId, ex.getMessage());
+        return ex;
+    }
+}
@@ -0,0 +1,160 @@
+package com.krawenn.auth.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.dto.AuthRequest;
+import com.krawenn.auth.dto.AuthResponse;
+import com.krawenn.auth.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exercises JWT signing, BCrypt, JSON binding, validation and the Mongo
+ * connection pool before the application is marked ready. Runners complete
+ * before {@code ApplicationReadyEvent}, so the readiness probe keeps
+ * reporting {@code REFUSING_TRAFFIC} until warm-up finishes or its budget
+ * runs out.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+    private static final String WARMUP_USER = "warmup-user";
+    private static final String WARMUP_PASSWORD = "warmup-password";
+
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long budgetMs;
+    private final int iterations;
+    private final int bcryptIterations;
+    private final int mongoConnections;
+
+    public WarmupRunner(JwtUtil jwtUtil,
+                        PasswordEncoder passwordEncoder,
+                        ObjectMapper objectMapper,
+                        Validator validator,
+                        MongoTemplate mongoTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${auth.warmup.enabled:true}") boolean enabled,
+                        @Value("${auth.warmup.budget-ms:15000}") long budgetMs,
+                        @Value("${auth.warmup.iterations:5000}") int iterations,
+                        @Value("${auth.warmup.bcrypt-iterations:5}") int bcryptIterations,
+                        @Value("${auth.warmup.mongo-connections:10}") int mongoConnections) {
+        this.jwtUtil = jwtUtil;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.budgetMs = budgetMs;
+        this.iterations = iterations;
+        this.bcryptIterations = bcryptIterations;
+        this.mongoConnections = mongoConnections;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        phase("mongo", deadline, () -> warmMongoPool(deadline));
+        phase("jwt", deadline, () -> repeat(iterations, deadline, this::signAndVerify));
+        phase("json", deadline, () -> repeat(iterations, deadline, this::bindJson));
+        phase("bcrypt", deadline, () -> repeat(bcryptIterations, deadline, this::hashAndMatch));
+        long totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Warm-up finished in {} ms (budget {} ms)", totalMs, budgetMs);
+    }
+
+    private void phase(String name, long deadline, Runnable work) {
+        if (System.nanoTime() >= deadline) {
+            log.warn("Warm-up budget exhausted, skipping {} phase", name);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up phase {} failed: {}", name, ex.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("auth.warmup.duration", "phase", name).record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up phase {} took {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void repeat(int times, long deadline, Runnable work) {
+        for (int i = 0; i < times && System.nanoTime() < deadline; i++) {
+            work.run();
+        }
+    }
+
+    private void warmMongoPool(long deadline) {
+        // Concurrent pings force the driver to open several pooled connections
+        ExecutorService executor = Executors.newFixedThreadPool(mongoConnections);
+        try {
+            List<CompletableFuture<Document>> pings = new ArrayList<>(mongoConnections);
+            for (int i = 0; i < mongoConnections; i++) {
+                pings.add(CompletableFuture.supplyAsync(
+                        () -> mongoTemplate.executeCommand(new Document("ping", 1)), executor));
+            }
+            CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Mongo did not answer within the warm-up budget");
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while warming the Mongo pool");
+        } finally {
+            // Interrupts pings still waiting for a server, so none outlives the budget
+            executor.shutdownNow();
+        }
+    }
+
+    private void signAndVerify() {
+        String token = jwtUtil.generateToken(WARMUP_USER, "USER");
+        jwtUtil.extractAllClaims(token);
+    }
+
+    private void bindJson() {
+        try {
+            AuthRequest request = new AuthRequest();
+            request.setUsername(WARMUP_USER);
+            request.setEmail("warmup@example.com");
+            request.setPassword(WARMUP_PASSWORD);
+            AuthRequest bound = objectMapper.readValue(objectMapper.writeValueAsBytes(request), AuthRequest.class);
+            validator.validate(bound);
+            objectMapper.writeValueAsBytes(new AuthResponse("token", "refresh-token", "USER"));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void hashAndMatch() {
+        passwordEncoder.matches(WARMUP_PASSWORD, passwordEncoder.encode(WARMUP_PASSWORD));
+    }
+}
@@ -0,0 +1,90 @@
+package com.krawenn.auth.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Capacity should be rounded up to a power of two")
+    void capacity_shouldRoundUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer<String>(5).capacity());
+        assertEquals(8, new AuditRingBuffer<String>(8).capacity());
+    }
+
+    @Test
+    @DisplayName("Entries should be polled in publish order")
+    void poll_shouldReturnEntriesInOrder() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.offer(3);
+
+        assertEquals(1, buffer.poll());
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    @DisplayName("Offer should fail when buffer is full and succeed after draining")
+    void offer_shouldFailWhenFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(2);
+
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+        assertEquals(2, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 10));
+        assertEquals(List.of(1, 2), drained);
+        assertTrue(buffer.offer(3));
+    }
+
+    @Test
+    @DisplayName("Concurrent producers should not lose or duplicate entries")
+    void concurrentProducers_shouldDeliverEveryEntryOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+
+        Set<Integer> received = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            Integer entry = buffer.poll();
+            if (entry != null) {
+                assertTrue(received.add(entry));
+            }
+        }
+        executor.shutdownNow();
+
+        assertEquals(producers * perProducer, received.size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.krawenn.auth.audit;
+
+import com.krawenn.auth.model.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthAuditPublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<AuditEvent> written = new CopyOnWriteArrayList<>();
+    private AuthAuditPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (publisher != null) {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("DROP policy should count events that do not fit in the buffer")
+    void publish_shouldDropWhenFull() {
+        publisher = publisher(written::addAll, 2, AuthAuditPublisher.OverflowPolicy.DROP, 5);
+
+        for (int i = 0; i < 3; i++) {
+            publisher.publish(AuditEventType.LOGIN_FAILURE, "alice", null, null);
+        }
+
+        assertEquals(1.0, counter("auth.audit.events.dropped"));
+        assertEquals(2.0, meterRegistry.get("auth.audit.lag.events").gauge().value());
+    }
+
+    @Test
+    @DisplayName("BLOCK policy should drop only after the block timeout")
+    void publish_shouldBlockBeforeDropping() {
+        publisher = publisher(written::addAll, 2, AuthAuditPublisher.OverflowPolicy.BLOCK, 20);
+        publisher.publish(AuditEventType.LOGIN_FAILURE, "alice", null, null);
+        publisher.publish(AuditEventType.LOGIN_FAILURE, "alice", null, null);
+
+        long start = System.nanoTime();
+        publisher.publish(AuditEventType.LOGIN_FAILURE, "alice", null, null);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1.0, counter("auth.audit.events.dropped"));
+    }
+
+    @Test
+    @DisplayName("BLOCK policy should wait for the writer instead of dropping")
+    void publish_shouldNotDropWhileWriterKeepsUp() throws InterruptedException {
+        publisher = publisher(written::addAll, 2, AuthAuditPublisher.OverflowPolicy.BLOCK, 1000);
+        publisher.start();
+
+        for (int i = 0; i < 20; i++) {
+            publisher.publish(AuditEventType.LOGIN_SUCCESS, "alice", "id1", null);
+        }
+        publisher.stop();
+
+        assertEquals(20, written.size());
+        assertEquals(20.0, counter("auth.audit.events.written"));
+        assertEquals(0.0, counter("auth.audit.events.dropped"));
+    }
+
+    @Test
+    @DisplayName("Sink failures should be counted and their events reported as dropped")
+    void consume_shouldCountSinkFailures() {
+        publisher = publisher(batch -> {
+            throw new IllegalStateException("sink down");
+        }, 8, AuthAuditPublisher.OverflowPolicy.DROP, 5);
+        publisher.publish(AuditEventType.REGISTER, "alice", "id1", null);
+        publisher.publish(AuditEventType.REGISTER, "bob", "id2", null);
+
+        publisher.start();
+
+        awaitTrue(() -> counter("auth.audit.events.dropped") == 2.0);
+        assertEquals(1.0, counter("auth.audit.sink.failures"));
+        assertEquals(0.0, counter("auth.audit.events.written"));
+    }
+
+    @Test
+    @DisplayName("Disabled publisher should not buffer events")
+    void publish_shouldIgnoreEventsWhenDisabled() {
+        publisher = new AuthAuditPublisher(written::addAll, meterRegistry, false, 8, 4,
+                AuthAuditPublisher.OverflowPolicy.DROP, 5);
+
+        publisher.publish(AuditEventType.LOGIN_SUCCESS, "alice", "id1", null);
+
+        assertEquals(0.0, meterRegistry.get("auth.audit.lag.events").gauge().value());
+        assertEquals(0.0, counter("auth.audit.events.dropped"));
+    }
+
+    private AuthAuditPublisher publisher(AuditSink sink, int bufferSize, AuthAuditPublisher.OverflowPolicy policy,
+                                         long blockTimeoutMs) {
+        return new AuthAuditPublisher(sink, meterRegistry, true, bufferSize, 4, policy, blockTimeoutMs);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 seconds");
+            Thread.onSpinWait();
+        }
+    }
+}
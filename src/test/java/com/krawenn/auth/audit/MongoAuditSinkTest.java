@@ -0,0 +1,38 @@
+package com.krawenn.auth.audit;
+
+import com.krawenn.auth.model.AuditEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoAuditSinkTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private MongoAuditSink sink;
+
+    @Test
+    @DisplayName("A batch should be written with a single insert")
+    void write_shouldInsertBatchOnce() {
+        List<AuditEvent> batch = List.of(
+                new AuditEvent(null, AuditEventType.LOGIN_SUCCESS, "alice", "id1", null, Instant.now()),
+                new AuditEvent(null, AuditEventType.LOGIN_FAILURE, "bob", null, null, Instant.now()));
+
+        sink.write(batch);
+
+        verify(mongoTemplate, times(1)).insert(batch, AuditEvent.class);
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,61 @@
+package com.krawenn.auth.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.model.AuditEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingFileAuditSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Each event should be written as one JSON line")
+    void write_shouldAppendOneLinePerEvent() throws Exception {
+        RollingFileAuditSink sink = new RollingFileAuditSink(objectMapper, directory.toString(), 1_000_000, 3);
+
+        sink.write(List.of(event("alice"), event("bob")));
+        sink.close();
+
+        List<String> lines = Files.readAllLines(directory.resolve("audit.ndjson"), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals("alice", objectMapper.readValue(lines.get(0), AuditEvent.class).getUsername());
+        assertEquals("bob", objectMapper.readValue(lines.get(1), AuditEvent.class).getUsername());
+    }
+
+    @Test
+    @DisplayName("File size should be counted in encoded bytes, not characters")
+    void write_shouldRollOnEncodedSize() throws Exception {
+        AuditEvent event = event("ü".repeat(100));
+        int lineBytes = objectMapper.writeValueAsBytes(event).length + 1;
+        assertTrue(objectMapper.writeValueAsString(event).length() + 1 < lineBytes);
+        RollingFileAuditSink sink = new RollingFileAuditSink(objectMapper, directory.toString(), lineBytes, 3);
+
+        sink.write(List.of(event));
+        sink.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> rolled = files.filter(path -> path.getFileName().toString().startsWith("audit-")).toList();
+            assertEquals(1, rolled.size());
+            assertEquals(lineBytes, Files.size(rolled.get(0)));
+        }
+        assertEquals(0, Files.size(directory.resolve("audit.ndjson")));
+    }
+
+    private AuditEvent event(String username) {
+        return new AuditEvent(null, AuditEventType.LOGIN_SUCCESS, username, "user123", null, Instant.now());
+    }
+}
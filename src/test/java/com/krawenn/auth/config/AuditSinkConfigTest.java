@@ -0,0 +1,45 @@
+package com.krawenn.auth.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.audit.MongoAuditSink;
+import com.krawenn.auth.audit.RollingFileAuditSink;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AuditSinkConfigTest {
+
+    private final AuditSinkConfig config = new AuditSinkConfig();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("The mongo sink should be selected by name")
+    void auditSink_shouldSelectMongo() {
+        assertInstanceOf(MongoAuditSink.class,
+                config.auditSink(mongoTemplate, objectMapper, "mongo", directory.toString(), 1024, 2));
+    }
+
+    @Test
+    @DisplayName("The file sink should be selected at runtime")
+    void auditSink_shouldSelectFile() {
+        assertInstanceOf(RollingFileAuditSink.class,
+                config.auditSink(mongoTemplate, objectMapper, "file", directory.toString(), 1024, 2));
+    }
+
+    @Test
+    @DisplayName("An unknown sink should fail startup")
+    void auditSink_shouldRejectUnknownSink() {
+        assertThrows(IllegalArgumentException.class,
+                () -> config.auditSink(mongoTemplate, objectMapper, "kafka", directory.toString(), 1024, 2));
+    }
+}
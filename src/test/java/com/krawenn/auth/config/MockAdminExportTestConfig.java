@@ -0,0 +1,21 @@
+package com.krawenn.auth.config;
+
+import com.krawenn.auth.security.JwtTokenVerifier;
+import com.krawenn.auth.service.AdminExportService;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration
+public class MockAdminExportTestConfig {
+
+    @Bean
+    public AdminExportService adminExportService() {
+        return Mockito.mock(AdminExportService.class);
+    }
+
+    @Bean
+    public JwtTokenVerifier jwtTokenVerifier() {
+        return Mockito.mock(JwtTokenVerifier.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.krawenn.auth.controller;
+
+import com.krawenn.auth.config.MockAdminExportTestConfig;
+import com.krawenn.auth.security.JwtTokenVerifier;
+import com.krawenn.auth.security.SecurityConfig;
+import com.krawenn.auth.security.VerifiedToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminExportController.class)
+@TestPropertySource(properties = "spring.config.import=optional:configserver:")
+@Import({SecurityConfig.class, MockAdminExportTestConfig.class})
+class AdminExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @Test
+    @DisplayName("Admin export should be forbidden for non-admin users")
+    @WithMockUser(roles = "USER")
+    void exportUsers_shouldRejectNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/users/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Admin export should reject anonymous callers")
+    void exportSessions_shouldRejectAnonymous() throws Exception {
+        mockMvc.perform(get("/api/admin/sessions/export"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    @DisplayName("Admin export should stream for admin users")
+    @WithMockUser(roles = "ADMIN")
+    void exportUsers_shouldStreamForAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/users/export"))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Admin role should be taken from the bearer token")
+    void exportSessions_shouldAuthorizeByTokenRole() throws Exception {
+        Mockito.doReturn(Optional.of(new VerifiedToken("alice", "USER", 0L, Long.MAX_VALUE,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))))).when(jwtTokenVerifier).verify("user-token");
+        Mockito.doReturn(Optional.of(new VerifiedToken("root", "ADMIN", 0L, Long.MAX_VALUE,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))))).when(jwtTokenVerifier).verify("admin-token");
+
+        mockMvc.perform(get("/api/admin/sessions/export").header(HttpHeaders.AUTHORIZATION, "Bearer user-token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/sessions/export").header(HttpHeaders.AUTHORIZATION, "Bearer admin-token"))
+                .andExpect(request().asyncStarted());
+    }
+}
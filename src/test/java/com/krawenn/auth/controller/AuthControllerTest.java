@@ -5,6 +5,7 @@ import com.krawenn.auth.config.MockAuthServiceTestConfig;
 import com.krawenn.auth.dto.AuthRequest;
 import com.krawenn.auth.dto.AuthResponse;
 import com.krawenn.auth.dto.RefreshRequest;
+import com.krawenn.auth.exception.AccountLockedException;
 import com.krawenn.auth.exception.InvalidCredentialsException;
 import com.krawenn.auth.exception.UserAlreadyExistsException;
 import com.krawenn.auth.exception.UserNotFoundException;
@@ -189,4 +190,26 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.refreshToken").exists());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Logout-all should revoke tokens of the authenticated user")
+    void logoutAll_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(post("/api/auth/logout-all")
+                        .principal(() -> "testuser"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(authService).logoutAll("testuser");
+    }
+
+    @Test
+    @DisplayName("Login should return 423 Locked for locked account")
+    void login_shouldReturnLockedForLockedAccount() throws Exception {
+        Mockito.doThrow(new AccountLockedException()).when(authService).login(any(AuthRequest.class));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validAuthRequest)))
+                .andExpect(status().isLocked())
+                .andExpect(content().string("Account temporarily locked"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.krawenn.auth.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Domain exceptions should not capture a stack trace")
+    void domainExceptions_shouldBeStackless() {
+        assertEquals(0, new InvalidCredentialsException().getStackTrace().length);
+        assertEquals(0, new UserNotFoundException().getStackTrace().length);
+        assertEquals(0, new UserAlreadyExistsException().getStackTrace().length);
+        assertEquals(0, new ServiceUnavailableException().getStackTrace().length);
+        assertEquals(0, new AccountLockedException().getStackTrace().length);
+        assertEquals("Invalid credentials", new InvalidCredentialsException().getMessage());
+    }
+
+    @Test
+    @DisplayName("Same message should reuse the cached response")
+    void sameMessage_shouldReuseResponse() {
+        ResponseEntity<String> first = handler.handleInvalidCredentials(new InvalidCredentialsException());
+        ResponseEntity<String> second = handler.handleInvalidCredentials(new InvalidCredentialsException());
+
+        assertSame(first, second);
+        assertEquals(HttpStatus.UNAUTHORIZED, first.getStatusCode());
+        assertEquals("Invalid credentials", first.getBody());
+    }
+
+    @Test
+    @DisplayName("Different messages should get their own responses")
+    void differentMessages_shouldNotShareResponse() {
+        ResponseEntity<String> invalid = handler.handleInvalidCredentials(new InvalidCredentialsException());
+        ResponseEntity<String> expired = handler.handleInvalidCredentials(
+                new InvalidCredentialsException("Refresh token expired"));
+
+        assertNotSame(invalid, expired);
+        assertEquals("Refresh token expired", expired.getBody());
+    }
+
+    @Test
+    @DisplayName("Data access failures should map to 503 without the driver message")
+    void dataAccessFailure_shouldMapToServiceUnavailable() {
+        ResponseEntity<String> response = handler.handleDataAccess(
+                new DataAccessResourceFailureException("Timed out connecting to mongo-0:27017"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Service temporarily unavailable", response.getBody());
+    }
+}
@@ -0,0 +1,176 @@
+package com.krawenn.auth.grpc;
+
+import com.krawenn.auth.dto.AuthResponse;
+import com.krawenn.auth.dto.RefreshRequest;
+import com.krawenn.auth.exception.InvalidCredentialsException;
+import com.krawenn.auth.grpc.v1.IntrospectRequest;
+import com.krawenn.auth.grpc.v1.IntrospectResponse;
+import com.krawenn.auth.grpc.v1.RefreshTokenRequest;
+import com.krawenn.auth.grpc.v1.TokenPair;
+import com.krawenn.auth.grpc.v1.VerifyRequest;
+import com.krawenn.auth.grpc.v1.VerifyResponse;
+import com.krawenn.auth.security.JwtTokenVerifier;
+import com.krawenn.auth.security.JwtUtil;
+import com.krawenn.auth.security.TokenVersionRegistry;
+import com.krawenn.auth.security.VerifiedToken;
+import com.krawenn.auth.service.AuthService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenGrpcServiceTest {
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private JwtTokenVerifier tokenVerifier;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @InjectMocks
+    private TokenGrpcService tokenGrpcService;
+
+    @Test
+    @DisplayName("Verify should return claims for a valid token")
+    void verify_shouldReturnClaimsForValidToken() {
+        when(tokenVerifier.verify("valid-token"))
+                .thenReturn(Optional.of(new VerifiedToken("testuser", "USER", 0L, 1000L, List.of())));
+        RecordingObserver<VerifyResponse> observer = new RecordingObserver<>();
+
+        tokenGrpcService.verify(VerifyRequest.newBuilder().setToken("valid-token").build(), observer);
+
+        assertTrue(observer.completed);
+        assertTrue(observer.values.get(0).getActive());
+        assertEquals("testuser", observer.values.get(0).getSubject());
+        assertEquals("USER", observer.values.get(0).getRole());
+    }
+
+    @Test
+    @DisplayName("Verify stream should answer every request with its request id")
+    void verifyStream_shouldCorrelateResponses() {
+        when(tokenVerifier.verify("valid-token"))
+                .thenReturn(Optional.of(new VerifiedToken("testuser", "USER", 0L, 1000L, List.of())));
+        when(tokenVerifier.verify("invalid-token")).thenReturn(Optional.empty());
+        RecordingObserver<VerifyResponse> observer = new RecordingObserver<>();
+
+        StreamObserver<VerifyRequest> requests = tokenGrpcService.verifyStream(observer);
+        requests.onNext(VerifyRequest.newBuilder().setToken("valid-token").setRequestId("1").build());
+        requests.onNext(VerifyRequest.newBuilder().setToken("invalid-token").setRequestId("2").build());
+        requests.onCompleted();
+
+        assertTrue(observer.completed);
+        assertEquals(2, observer.values.size());
+        assertTrue(observer.values.get(0).getActive());
+        assertEquals("1", observer.values.get(0).getRequestId());
+        assertFalse(observer.values.get(1).getActive());
+        assertEquals("2", observer.values.get(1).getRequestId());
+    }
+
+    @Test
+    @DisplayName("Introspect should report a token inactive once its version is revoked")
+    void introspect_shouldRejectRevokedTokenVersion() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(mock(MongoTemplate.class), 0, 5000, 60000);
+        TokenGrpcService service = new TokenGrpcService(authService, new JwtTokenVerifier(jwtUtil, registry, 0), jwtUtil);
+        Claims claims = Jwts.claims().setSubject("testuser").setExpiration(new Date(System.currentTimeMillis() + 60000));
+        claims.put("role", "USER");
+        claims.put(JwtUtil.VERSION_CLAIM, 1L);
+        when(jwtUtil.extractAllClaims("access-token")).thenReturn(claims);
+        IntrospectRequest request = IntrospectRequest.newBuilder().setToken("access-token").build();
+
+        RecordingObserver<IntrospectResponse> before = new RecordingObserver<>();
+        service.introspect(request, before);
+        registry.advance("testuser", 2L, Instant.now());
+        RecordingObserver<IntrospectResponse> after = new RecordingObserver<>();
+        service.introspect(request, after);
+
+        assertTrue(before.values.get(0).getActive());
+        assertEquals("testuser", before.values.get(0).getSubject());
+        assertFalse(after.values.get(0).getActive());
+        assertTrue(after.completed);
+    }
+
+    @Test
+    @DisplayName("Refresh should return a new token pair")
+    void refresh_shouldReturnTokenPair() {
+        when(authService.refreshToken(any(RefreshRequest.class)))
+                .thenReturn(new AuthResponse("jwt-token", "refresh-token", "USER"));
+        RecordingObserver<TokenPair> observer = new RecordingObserver<>();
+
+        tokenGrpcService.refresh(RefreshTokenRequest.newBuilder().setRefreshToken("refresh-token").build(), observer);
+
+        assertTrue(observer.completed);
+        assertEquals("jwt-token", observer.values.get(0).getToken());
+        assertEquals("refresh-token", observer.values.get(0).getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Refresh should map invalid credentials to UNAUTHENTICATED")
+    void refresh_shouldMapInvalidCredentials() {
+        when(authService.refreshToken(any(RefreshRequest.class)))
+                .thenThrow(new InvalidCredentialsException("Invalid refresh token"));
+        RecordingObserver<TokenPair> observer = new RecordingObserver<>();
+
+        tokenGrpcService.refresh(RefreshTokenRequest.newBuilder().setRefreshToken("bad-token").build(), observer);
+
+        StatusRuntimeException error = assertInstanceOf(StatusRuntimeException.class, observer.error);
+        assertEquals(Status.Code.UNAUTHENTICATED, error.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Refresh should map Mongo failures to UNAVAILABLE")
+    void refresh_shouldMapDataAccessFailure() {
+        when(authService.refreshToken(any(RefreshRequest.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out connecting to mongo-0:27017"));
+        RecordingObserver<TokenPair> observer = new RecordingObserver<>();
+
+        tokenGrpcService.refresh(RefreshTokenRequest.newBuilder().setRefreshToken("refresh-token").build(), observer);
+
+        StatusRuntimeException error = assertInstanceOf(StatusRuntimeException.class, observer.error);
+        assertEquals(Status.Code.UNAVAILABLE, error.getStatus().getCode());
+        assertFalse(error.getStatus().getDescription().contains("mongo-0"));
+    }
+
+    private static class RecordingObserver<T> implements StreamObserver<T> {
+        private final List<T> values = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+    }
+}
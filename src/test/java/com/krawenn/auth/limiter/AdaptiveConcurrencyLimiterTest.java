@@ -0,0 +1,72 @@
+package com.krawenn.auth.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("Requests beyond the current limit should be rejected")
+    void tryAcquire_shouldRejectBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(BASE_RTT);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Limit should grow while latency stays flat under load")
+    void limit_shouldGrowWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100);
+
+        runSaturated(limiter, BASE_RTT, 200);
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    @DisplayName("Limit should shrink when latency rises above the baseline")
+    void limit_shouldShrinkWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100);
+        runSaturated(limiter, BASE_RTT, 50);
+        int before = limiter.getLimit();
+
+        runSaturated(limiter, BASE_RTT * 10, 50);
+
+        assertTrue(limiter.getLimit() < before);
+    }
+
+    @Test
+    @DisplayName("Limit should stay within configured bounds")
+    void limit_shouldStayWithinBounds() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 5, 20);
+
+        runSaturated(limiter, BASE_RTT, 500);
+        assertEquals(20, limiter.getLimit());
+
+        runSaturated(limiter, BASE_RTT * 100, 20);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    private void runSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.krawenn.auth.limiter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final String REFRESH = "/api/auth/refresh";
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private List<String> rejected;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        rejected = new ArrayList<>();
+        filter = new ConcurrencyLimitFilter(Map.of(REFRESH, limiter), () -> true, rejected::add);
+    }
+
+    @Test
+    @DisplayName("A request over the limit should get 503 with Retry-After")
+    void doFilter_shouldRejectOverLimit() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(REFRESH), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+        assertEquals(List.of(REFRESH), rejected);
+    }
+
+    @Test
+    @DisplayName("The permit should be released when the chain throws")
+    void doFilter_shouldReleaseWhenChainThrows() {
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request(REFRESH), new MockHttpServletResponse(), failing));
+
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Paths without a limiter should pass through")
+    void doFilter_shouldPassThroughUnmappedPath() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/auth/logout"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertTrue(rejected.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A disabled filter should not acquire permits")
+    void doFilter_shouldPassThroughWhenDisabled() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        filter = new ConcurrencyLimitFilter(Map.of(REFRESH, limiter), () -> false, rejected::add);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(REFRESH), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Default limits should leave Tomcat workers for refresh")
+    void defaults_shouldStayBelowTomcatThreads() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        int loginAndRegister = properties.getLogin().getMaxLimit() + properties.getRegister().getMaxLimit();
+
+        assertTrue(loginAndRegister + properties.getRefresh().getMaxLimit() < 200);
+        assertTrue(properties.getRefresh().getMaxLimit() > loginAndRegister);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
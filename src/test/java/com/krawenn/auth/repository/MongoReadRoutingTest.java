@@ -0,0 +1,98 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.RefreshToken;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoReadRoutingTest {
+
+    private static final String COLLECTION = "refresh_tokens";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private RefreshToken refreshToken;
+    private Query query;
+
+    @BeforeEach
+    void setUp() {
+        refreshToken = new RefreshToken();
+        refreshToken.setToken("refresh-token");
+        query = Query.query(Criteria.where("token").is("refresh-token"));
+    }
+
+    @Test
+    @DisplayName("Hit on a secondary should not touch the primary")
+    void findOne_shouldServeHitFromSecondary() {
+        MongoReadRouting routing = new MongoReadRouting(mongoTemplate, true, "secondaryPreferred", 90);
+        when(mongoTemplate.findOne(any(Query.class), eq(RefreshToken.class), eq(COLLECTION))).thenReturn(refreshToken);
+
+        Optional<RefreshToken> found = routing.findOne(query, RefreshToken.class, COLLECTION);
+
+        assertTrue(found.isPresent());
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).findOne(captor.capture(), eq(RefreshToken.class), eq(COLLECTION));
+        assertEquals(ReadPreference.secondaryPreferred().getName(), captor.getValue().getReadPreference().getName());
+    }
+
+    @Test
+    @DisplayName("Miss on a secondary should be confirmed on the primary")
+    void findOne_shouldFallBackToPrimaryOnMiss() {
+        MongoReadRouting routing = new MongoReadRouting(mongoTemplate, true, "secondaryPreferred", 90);
+        when(mongoTemplate.findOne(any(Query.class), eq(RefreshToken.class), eq(COLLECTION)))
+                .thenReturn(null, refreshToken);
+
+        Optional<RefreshToken> found = routing.findOne(query, RefreshToken.class, COLLECTION);
+
+        assertTrue(found.isPresent());
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).findOne(captor.capture(), eq(RefreshToken.class), eq(COLLECTION));
+        List<Query> queries = captor.getAllValues();
+        assertEquals(ReadPreference.primary(), queries.get(1).getReadPreference());
+    }
+
+    @Test
+    @DisplayName("Primary lookup should not return a document still present on a lagging secondary")
+    void findOnPrimary_shouldIgnoreStaleSecondaryHit() {
+        MongoReadRouting routing = new MongoReadRouting(mongoTemplate, true, "secondaryPreferred", 90);
+        // The secondary still holds a token the primary already deleted
+        lenient().when(mongoTemplate.findOne(argThat((Query q) -> q != null && !ReadPreference.primary().equals(q.getReadPreference())),
+                eq(RefreshToken.class), eq(COLLECTION))).thenReturn(refreshToken);
+
+        Optional<RefreshToken> found = routing.findOnPrimary(query, RefreshToken.class, COLLECTION);
+
+        assertTrue(found.isEmpty());
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).findOne(captor.capture(), eq(RefreshToken.class), eq(COLLECTION));
+        assertEquals(ReadPreference.primary(), captor.getValue().getReadPreference());
+    }
+
+    @Test
+    @DisplayName("Disabled routing should issue a single default read")
+    void findOne_shouldUseDefaultReadWhenDisabled() {
+        MongoReadRouting routing = new MongoReadRouting(mongoTemplate, false, "secondaryPreferred", 90);
+        when(mongoTemplate.findOne(query, RefreshToken.class, COLLECTION)).thenReturn(null);
+
+        assertTrue(routing.findOne(query, RefreshToken.class, COLLECTION).isEmpty());
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(RefreshToken.class), eq(COLLECTION));
+    }
+}
@@ -0,0 +1,124 @@
+package com.krawenn.auth.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenBucketsTest {
+
+    private static final long SEVEN_DAYS_MS = 7L * 24 * 60 * 60 * 1000;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private RefreshTokenBuckets buckets;
+
+    @BeforeEach
+    void setUp() {
+        buckets = new RefreshTokenBuckets(mongoTemplate, true, SEVEN_DAYS_MS, 3600000, 0);
+    }
+
+    @Test
+    @DisplayName("New token should name the bucket of its expiry week")
+    void newToken_shouldResolveToExpiryWeekBucket() {
+        String token = buckets.newToken(Instant.parse("2026-10-21T12:00:00Z"));
+
+        assertTrue(token.startsWith("2026w43."));
+        assertEquals("refresh_tokens_2026_w43", buckets.collectionForToken(token));
+    }
+
+    @Test
+    @DisplayName("Week-based year should be used around the new year")
+    void newToken_shouldUseWeekBasedYear() {
+        String token = buckets.newToken(Instant.parse("2027-01-01T00:00:00Z"));
+
+        assertEquals("refresh_tokens_2026_w53", buckets.collectionForToken(token));
+    }
+
+    @Test
+    @DisplayName("Unprefixed or malformed tokens should use the regular collection")
+    void collectionForToken_shouldFallBackToRegularCollection() {
+        assertEquals("refresh_tokens", buckets.collectionForToken("0b8f3a52-6f4b-4c1a-9d8e-3f2a1b0c9d8e"));
+        assertEquals("refresh_tokens", buckets.collectionForToken("2026w99.0b8f3a52"));
+        assertEquals("refresh_tokens", buckets.collectionForToken("../w43.0b8f3a52"));
+    }
+
+    @Test
+    @DisplayName("Disabled layout should issue plain tokens in the regular collection")
+    void disabled_shouldUseRegularCollection() {
+        RefreshTokenBuckets disabled = new RefreshTokenBuckets(mongoTemplate, false, SEVEN_DAYS_MS, 0, 0);
+
+        String token = disabled.newToken(Instant.now());
+
+        assertEquals("refresh_tokens", disabled.collectionForToken(token));
+        assertEquals(Set.of("refresh_tokens"), disabled.liveCollections());
+    }
+
+    @Test
+    @DisplayName("Live collections should cover every week up to the token lifetime")
+    void liveCollections_shouldCoverTokenLifetime() {
+        String newestToken = buckets.newToken(buckets.newTokenExpiry());
+        String currentToken = buckets.newToken(Instant.now());
+
+        Set<String> live = buckets.liveCollections();
+
+        assertTrue(live.contains("refresh_tokens"));
+        assertTrue(live.contains(buckets.collectionForToken(newestToken)));
+        assertTrue(live.contains(buckets.collectionForToken(currentToken)));
+    }
+
+    @Test
+    @DisplayName("Only buckets whose week ended before the grace period should be dropped")
+    void dropExpiredBuckets_shouldDropOnlyPastWeeks() {
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(
+                "refresh_tokens", "users", "refresh_tokens_2026_w41", "refresh_tokens_2026_w42", "refresh_tokens_2026_w43"));
+
+        // Week 42 ends Monday 2026-10-19 00:00 UTC; the grace period is one hour
+        int dropped = buckets.dropExpiredBuckets(Instant.parse("2026-10-19T00:30:00Z"));
+
+        assertEquals(1, dropped);
+        verify(mongoTemplate).dropCollection("refresh_tokens_2026_w41");
+        verify(mongoTemplate, never()).dropCollection("refresh_tokens_2026_w42");
+        verify(mongoTemplate, never()).dropCollection("refresh_tokens_2026_w43");
+        verify(mongoTemplate, never()).dropCollection("refresh_tokens");
+    }
+
+    @Test
+    @DisplayName("Buckets left from an enabled period should stay live and droppable after disabling")
+    void disabled_shouldKeepServingLeftoverBuckets() {
+        RefreshTokenBuckets disabled = new RefreshTokenBuckets(mongoTemplate, false, SEVEN_DAYS_MS, 3600000, 0);
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(
+                "refresh_tokens", "users", "refresh_tokens_2026_w41", "refresh_tokens_2026_w43"));
+
+        int dropped = disabled.dropExpiredBuckets(Instant.parse("2026-10-19T00:30:00Z"));
+
+        assertEquals(1, dropped);
+        verify(mongoTemplate).dropCollection("refresh_tokens_2026_w41");
+        assertEquals(Set.of("refresh_tokens", "refresh_tokens_2026_w43"), disabled.liveCollections());
+        assertEquals("refresh_tokens_2026_w43", disabled.collectionForToken("2026w43.0b8f3a52"));
+    }
+
+    @Test
+    @DisplayName("Start should find leftover buckets even when the layout is disabled")
+    void start_shouldDiscoverBucketsWhenDisabled() {
+        RefreshTokenBuckets disabled = new RefreshTokenBuckets(mongoTemplate, false, SEVEN_DAYS_MS, 3600000, 0);
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of("refresh_tokens", "refresh_tokens_2099_w01"));
+
+        disabled.start();
+
+        assertTrue(disabled.liveCollections().contains("refresh_tokens_2099_w01"));
+        verify(mongoTemplate, never()).dropCollection(anyString());
+    }
+}
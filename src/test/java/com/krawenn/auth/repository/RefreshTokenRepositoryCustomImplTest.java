@@ -0,0 +1,97 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.RefreshToken;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenRepositoryCustomImplTest {
+
+    private static final long SEVEN_DAYS_MS = 7L * 24 * 60 * 60 * 1000;
+    private static final String BUCKET = "refresh_tokens_2026_w43";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private RefreshTokenBuckets buckets;
+    private RefreshTokenRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        buckets = new RefreshTokenBuckets(mongoTemplate, true, SEVEN_DAYS_MS, 3600000, 0);
+        repository = new RefreshTokenRepositoryCustomImpl(
+                new MongoReadRouting(mongoTemplate, true, "secondaryPreferred", 90), mongoTemplate, buckets);
+    }
+
+    @Test
+    @DisplayName("Save should write to the token's bucket and index it first")
+    void save_shouldWriteToTokenBucket() {
+        RefreshToken refreshToken = token(buckets.newToken(Instant.parse("2026-10-21T12:00:00Z")));
+        when(mongoTemplate.indexOps(BUCKET)).thenReturn(indexOperations);
+        when(mongoTemplate.save(refreshToken, BUCKET)).thenReturn(refreshToken);
+
+        repository.save(refreshToken);
+        repository.save(refreshToken);
+
+        verify(mongoTemplate, times(2)).save(refreshToken, BUCKET);
+        // token and userId indexes, created once per bucket
+        verify(indexOperations, times(2)).ensureIndex(any(Index.class));
+    }
+
+    @Test
+    @DisplayName("Lookup should read the token's bucket on the primary")
+    void findByToken_shouldReadTokenBucketOnPrimary() {
+        String token = buckets.newToken(Instant.parse("2026-10-21T12:00:00Z"));
+
+        assertTrue(repository.findByToken(token).isEmpty());
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).findOne(captor.capture(), eq(RefreshToken.class), eq(BUCKET));
+        assertEquals(ReadPreference.primary(), captor.getValue().getReadPreference());
+    }
+
+    @Test
+    @DisplayName("Delete by user should cover the regular collection and every live bucket")
+    void deleteByUserId_shouldCoverLiveCollections() {
+        Set<String> live = buckets.liveCollections();
+
+        repository.deleteByUserId("user1");
+
+        assertTrue(live.contains("refresh_tokens"));
+        assertTrue(live.size() >= 3);
+        for (String collection : live) {
+            verify(mongoTemplate).remove(any(Query.class), eq(RefreshToken.class), eq(collection));
+        }
+        verify(mongoTemplate, times(live.size())).remove(any(Query.class), eq(RefreshToken.class), anyString());
+    }
+
+    private RefreshToken token(String token) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId("user1");
+        refreshToken.setToken(token);
+        refreshToken.setExpiryDate(Instant.parse("2026-10-21T12:00:00Z"));
+        return refreshToken;
+    }
+}
@@ -0,0 +1,234 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.RefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenWriteBehindTest {
+
+    private static final long FLUSH_INTERVAL_MS = 60_000;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private RefreshTokenBuckets buckets;
+
+    @BeforeEach
+    void setUp() {
+        buckets = new RefreshTokenBuckets(mongoTemplate, false, 604800000L, 0, 0);
+    }
+
+    @Test
+    @DisplayName("A second login should replace the user's pending token")
+    void replaceForUser_shouldCollapsePerUser() {
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 10000);
+        RefreshToken first = token("user1", "token-1");
+        RefreshToken second = token("user1", "token-2");
+
+        writeBehind.replaceForUser(first);
+        writeBehind.replaceForUser(second);
+
+        assertEquals(1, writeBehind.pendingCount());
+        assertTrue(writeBehind.findPending("token-1").isEmpty());
+        assertSame(second, writeBehind.findPending("token-2").orElseThrow());
+        verifyNoInteractions(bulkOperations);
+    }
+
+    @Test
+    @DisplayName("Reaching max pending should flush on the calling thread")
+    void replaceForUser_shouldFlushSynchronouslyAtMaxPending() {
+        stubBulkOps();
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 2);
+
+        writeBehind.replaceForUser(token("user1", "token-1"));
+        verifyNoInteractions(bulkOperations);
+        writeBehind.replaceForUser(token("user2", "token-2"));
+
+        assertEquals(0, writeBehind.pendingCount());
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Flush should remove the users' old tokens before inserting the new ones")
+    void flush_shouldRemoveBeforeInsert() {
+        stubBulkOps();
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 10000);
+        RefreshToken refreshToken = token("user1", "token-1");
+        writeBehind.replaceForUser(refreshToken);
+
+        writeBehind.flush();
+
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.ORDERED, RefreshToken.class, "refresh_tokens");
+        InOrder inOrder = inOrder(bulkOperations);
+        inOrder.verify(bulkOperations).remove(any(Query.class));
+        inOrder.verify(bulkOperations).insert(refreshToken);
+        inOrder.verify(bulkOperations).execute();
+        assertTrue(writeBehind.findPending("token-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Failed flush should keep tokens pending for the next attempt")
+    void flush_shouldKeepTokensPendingOnFailure() {
+        stubBulkOps();
+        when(bulkOperations.execute()).thenThrow(new DataAccessResourceFailureException("Mongo unavailable"));
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 10000);
+        writeBehind.replaceForUser(token("user1", "token-1"));
+
+        assertThrows(DataAccessResourceFailureException.class, writeBehind::flush);
+
+        assertEquals(1, writeBehind.pendingCount());
+        assertTrue(writeBehind.findPending("token-1").isPresent());
+    }
+
+    @Test
+    @DisplayName("Shutdown should persist pending tokens")
+    void shutdown_shouldFlushPendingTokens() {
+        stubBulkOps();
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 10000);
+        writeBehind.replaceForUser(token("user1", "token-1"));
+        writeBehind.replaceForUser(token("user2", "token-2"));
+
+        writeBehind.shutdown();
+
+        assertEquals(0, writeBehind.pendingCount());
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Failed shutdown flush should fall back to writing tokens one by one")
+    void shutdown_shouldFallBackToIndividualWrites() {
+        stubBulkOps();
+        when(bulkOperations.execute())
+                .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"))
+                .thenReturn(null);
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 10000);
+        writeBehind.replaceForUser(token("user1", "token-1"));
+        writeBehind.replaceForUser(token("user2", "token-2"));
+
+        writeBehind.shutdown();
+
+        assertEquals(0, writeBehind.pendingCount());
+        verify(bulkOperations, times(3)).execute();
+    }
+
+    @Test
+    @DisplayName("Bucketed flush should issue one bulk per live or target collection")
+    void flush_shouldIssueOneBulkPerBucketCollection() {
+        stubBulkOps();
+        when(mongoTemplate.indexOps(anyString())).thenReturn(indexOperations);
+        RefreshTokenBuckets bucketed = new RefreshTokenBuckets(mongoTemplate, true, 604800000L, 3600000, 0);
+        RefreshTokenWriteBehind writeBehind = new RefreshTokenWriteBehind(mongoTemplate, bucketed, true, 500,
+                FLUSH_INTERVAL_MS, 10000);
+        RefreshToken soon = token("user1", bucketed.newToken(Instant.now().plusSeconds(60)));
+        RefreshToken late = token("user2", bucketed.newToken(bucketed.newTokenExpiry()));
+        writeBehind.replaceForUser(soon);
+        writeBehind.replaceForUser(late);
+        Set<String> live = bucketed.liveCollections();
+
+        writeBehind.flush();
+
+        for (String collection : live) {
+            verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.ORDERED, RefreshToken.class, collection);
+        }
+        verify(mongoTemplate, times(live.size())).bulkOps(any(BulkOperations.BulkMode.class), eq(RefreshToken.class), anyString());
+        verify(bulkOperations, times(live.size())).execute();
+        verify(bulkOperations).insert(soon);
+        verify(bulkOperations).insert(late);
+    }
+
+    @Test
+    @DisplayName("Revoking a user should wait for an in-flight batch holding their token")
+    void revokeUser_shouldDeleteAfterInFlightBatch() throws Exception {
+        stubBulkOps();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = new CopyOnWriteArrayList<>();
+        when(bulkOperations.execute()).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            events.add("insert");
+            return null;
+        });
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 10000);
+        writeBehind.replaceForUser(token("user1", "token-1"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> flush = executor.submit(writeBehind::flush);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            Future<?> revoke = executor.submit(() -> writeBehind.revokeUser("user1", () -> events.add("delete")));
+            // The batch already copied the token, so the delete must not overtake its insert
+            assertThrows(TimeoutException.class, () -> revoke.get(100, TimeUnit.MILLISECONDS));
+            release.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+            revoke.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of("insert", "delete"), events);
+        assertTrue(writeBehind.findPending("token-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Waiting for a flush should not swallow an interrupt")
+    void awaitFlushInterval_shouldKeepInterruptFlag() {
+        RefreshTokenWriteBehind writeBehind = writeBehind(500, 10000);
+
+        Thread.currentThread().interrupt();
+        writeBehind.awaitFlushInterval();
+
+        assertTrue(Thread.interrupted());
+    }
+
+    private RefreshTokenWriteBehind writeBehind(int batchSize, int maxPending) {
+        return new RefreshTokenWriteBehind(mongoTemplate, buckets, true, batchSize, FLUSH_INTERVAL_MS, maxPending);
+    }
+
+    private void stubBulkOps() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(RefreshToken.class), anyString()))
+                .thenReturn(bulkOperations);
+    }
+
+    private RefreshToken token(String userId, String token) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(userId);
+        refreshToken.setToken(token);
+        refreshToken.setExpiryDate(Instant.now().plusSeconds(3600));
+        return refreshToken;
+    }
+}
@@ -0,0 +1,41 @@
+package com.krawenn.auth.repository;
+
+import com.krawenn.auth.model.User;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    @DisplayName("User lookup should read the primary even when routing is enabled")
+    void findById_shouldReadPrimary() {
+        UserRepositoryCustomImpl repository = new UserRepositoryCustomImpl(
+                new MongoReadRouting(mongoTemplate, true, "secondaryPreferred", 90), mongoTemplate);
+        User user = new User();
+        user.setId("user123");
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class), eq("users"))).thenReturn(user);
+
+        assertSame(user, repository.findById("user123").orElseThrow());
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).findOne(captor.capture(), eq(User.class), eq("users"));
+        assertEquals(ReadPreference.primary(), captor.getValue().getReadPreference());
+    }
+}
@@ -0,0 +1,126 @@
+package com.krawenn.auth.resilience;
+
+import com.krawenn.auth.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoCircuitBreakerTest {
+
+    private static final long LONG_OPEN_MS = 60_000;
+
+    @Test
+    @DisplayName("Circuit should open once consecutive failures reach the threshold")
+    void execute_shouldOpenAtThreshold() {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(3, LONG_OPEN_MS);
+
+        failCall(breaker);
+        failCall(breaker);
+        assertEquals(MongoCircuitBreaker.State.CLOSED, breaker.getState());
+
+        failCall(breaker);
+        assertEquals(MongoCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("A success should reset the consecutive failure count")
+    void execute_shouldResetFailuresOnSuccess() {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(2, LONG_OPEN_MS);
+
+        failCall(breaker);
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        failCall(breaker);
+
+        assertEquals(MongoCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Calls should fail fast without reaching Mongo while the circuit is open")
+    void execute_shouldFailFastWhileOpen() {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(1, LONG_OPEN_MS);
+        failCall(breaker);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ServiceUnavailableException.class, () -> breaker.execute(calls::incrementAndGet));
+
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    @DisplayName("Only one trial call should pass while half-open; concurrent callers are rejected")
+    void execute_shouldAllowSingleTrialWhenHalfOpen() throws Exception {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(1, 0);
+        failCall(breaker);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String result = breaker.execute(() -> {
+                assertEquals(MongoCircuitBreaker.State.HALF_OPEN, breaker.getState());
+                try {
+                    Throwable concurrent = executor.submit(() -> assertThrows(ServiceUnavailableException.class,
+                            () -> breaker.execute(() -> "second"))).get(5, TimeUnit.SECONDS);
+                    assertInstanceOf(ServiceUnavailableException.class, concurrent);
+                } catch (Exception ex) {
+                    throw new AssertionError(ex);
+                }
+                return "trial";
+            });
+            assertEquals("trial", result);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A failed trial should reopen the circuit")
+    void execute_shouldReopenWhenTrialFails() {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(3, 0);
+        failCall(breaker);
+        failCall(breaker);
+        failCall(breaker);
+
+        failCall(breaker);
+
+        assertEquals(MongoCircuitBreaker.State.OPEN, breaker.getState());
+        // The trial permit was released, so the next call is allowed to try again
+        assertEquals("ok", breaker.execute(() -> "ok"));
+    }
+
+    @Test
+    @DisplayName("A successful trial should close the circuit")
+    void execute_shouldCloseWhenTrialSucceeds() {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(1, 0);
+        failCall(breaker);
+
+        assertEquals("ok", breaker.execute(() -> "ok"));
+
+        assertEquals(MongoCircuitBreaker.State.CLOSED, breaker.getState());
+        failCall(breaker);
+        assertEquals(MongoCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Constraint violations should not count as Mongo failures")
+    void execute_shouldNotCountDataIntegrityViolations() {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(1, LONG_OPEN_MS);
+
+        assertThrows(DataIntegrityViolationException.class, () -> breaker.run(() -> {
+            throw new DataIntegrityViolationException("duplicate key");
+        }));
+
+        assertEquals(MongoCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private static void failCall(MongoCircuitBreaker breaker) {
+        assertThrows(DataAccessResourceFailureException.class, () -> breaker.run(() -> {
+            throw new DataAccessResourceFailureException("Mongo unavailable");
+        }));
+    }
+}
@@ -0,0 +1,108 @@
+package com.krawenn.auth.resilience;
+
+import com.krawenn.auth.model.RefreshToken;
+import com.krawenn.auth.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshSessionCacheTest {
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId("user123");
+        user.setUsername("testuser");
+        user.setRole("USER");
+        user.setTokenVersion(2L);
+    }
+
+    @Test
+    @DisplayName("A remembered session should be served with the user's details")
+    void find_shouldReturnRememberedSession() {
+        RefreshSessionCache cache = new RefreshSessionCache(100, 60_000);
+
+        cache.remember(token("token-1", Instant.now().plusSeconds(3600)), user);
+
+        RefreshSessionCache.CachedSession session = cache.find("token-1").orElseThrow();
+        assertEquals("testuser", session.username());
+        assertEquals("USER", session.role());
+        assertEquals(2L, session.tokenVersion());
+    }
+
+    @Test
+    @DisplayName("Sessions validated longer ago than max-staleness should not be served")
+    void find_shouldDropStaleSession() throws InterruptedException {
+        RefreshSessionCache cache = new RefreshSessionCache(100, 10);
+        cache.remember(token("token-1", Instant.now().plusSeconds(3600)), user);
+
+        Thread.sleep(50);
+
+        assertTrue(cache.find("token-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Sessions whose refresh token expired should not be served")
+    void find_shouldDropExpiredSession() {
+        RefreshSessionCache cache = new RefreshSessionCache(100, 60_000);
+
+        cache.remember(token("token-1", Instant.now().minusSeconds(1)), user);
+
+        assertTrue(cache.find("token-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A new login should replace the user's cached session")
+    void remember_shouldReplacePerUser() {
+        RefreshSessionCache cache = new RefreshSessionCache(100, 60_000);
+        Instant expiry = Instant.now().plusSeconds(3600);
+
+        cache.remember(token("token-1", expiry), user);
+        cache.remember(token("token-2", expiry), user);
+
+        assertTrue(cache.find("token-1").isEmpty());
+        assertTrue(cache.find("token-2").isPresent());
+    }
+
+    @Test
+    @DisplayName("Evicting a user should drop their cached session")
+    void evictUser_shouldDropSession() {
+        RefreshSessionCache cache = new RefreshSessionCache(100, 60_000);
+        cache.remember(token("token-1", Instant.now().plusSeconds(3600)), user);
+
+        cache.evictUser("user123");
+
+        assertTrue(cache.find("token-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A full cache should not admit new sessions while none are stale")
+    void remember_shouldRespectMaxEntries() {
+        RefreshSessionCache cache = new RefreshSessionCache(1, 60_000);
+        User other = new User();
+        other.setId("user456");
+        other.setUsername("otheruser");
+        other.setRole("USER");
+        Instant expiry = Instant.now().plusSeconds(3600);
+
+        cache.remember(token("token-1", expiry), user);
+        cache.remember(token("token-2", expiry), other);
+
+        assertTrue(cache.find("token-1").isPresent());
+        assertTrue(cache.find("token-2").isEmpty());
+    }
+
+    private static RefreshToken token(String value, Instant expiry) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setToken(value);
+        refreshToken.setUserId("user123");
+        refreshToken.setExpiryDate(expiry);
+        return refreshToken;
+    }
+}
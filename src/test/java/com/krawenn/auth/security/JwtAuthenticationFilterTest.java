@@ -0,0 +1,131 @@
+package com.krawenn.auth.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String TEST_SECRET = "testSecretKey1234567890123456789012345678901234567890";
+    private static final long TEST_EXPIRATION = 3600000; // 1 hour in milliseconds
+    private static final String TEST_USERNAME = "testuser";
+    private static final String TEST_ROLE = "USER";
+
+    private JwtUtil jwtUtil;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing(new MockEnvironment().withProperty("jwt.secret", TEST_SECRET), event -> { });
+        jwtUtil = spy(new JwtUtil(keyRing));
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", TEST_EXPIRATION);
+        tokenVersionRegistry = new TokenVersionRegistry(mock(MongoTemplate.class), 0, 5000, TEST_EXPIRATION);
+        filter = new JwtAuthenticationFilter(new JwtTokenVerifier(jwtUtil, tokenVersionRegistry, 100));
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Valid bearer token should authenticate with role authority")
+    void validBearerToken_shouldAuthenticate() throws Exception {
+        String token = jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE);
+
+        filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(TEST_USERNAME, authentication.getName());
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("Invalid bearer token should leave request unauthenticated")
+    void invalidBearerToken_shouldNotAuthenticate() throws Exception {
+        String token = jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE);
+        String tampered = token.substring(0, token.length() - 1) + "X";
+
+        filter.doFilter(bearerRequest(tampered), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Expired bearer token should leave request unauthenticated")
+    void expiredBearerToken_shouldNotAuthenticate() throws Exception {
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", -1000L);
+        String token = jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE);
+
+        filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Missing Authorization header should pass through unauthenticated")
+    void missingHeader_shouldPassThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Repeated token should be verified only once")
+    void repeatedToken_shouldUseVerifiedCache() throws Exception {
+        String token = jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE);
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+            assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        }
+
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+    }
+
+    @Test
+    @DisplayName("Token with an outdated version should be rejected even when cached")
+    void revokedTokenVersion_shouldNotAuthenticate() throws Exception {
+        String oldToken = jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE, 0L);
+        filter.doFilter(bearerRequest(oldToken), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+        tokenVersionRegistry.advance(TEST_USERNAME, 1L, Instant.now());
+        SecurityContextHolder.clearContext();
+        filter.doFilter(bearerRequest(oldToken), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        String newToken = jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE, 1L);
+        filter.doFilter(bearerRequest(newToken), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private MockHttpServletRequest bearerRequest(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
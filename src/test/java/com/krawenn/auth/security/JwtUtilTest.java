@@ -2,14 +2,13 @@ package com.krawenn.auth.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Date;
@@ -17,13 +16,14 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class JwtUtilTest {
 
-    @InjectMocks
     private JwtUtil jwtUtil;
+    private JwtKeyRing keyRing;
+    private MockEnvironment environment;
 
     private static final String TEST_SECRET = "testSecretKey1234567890123456789012345678901234567890";
+    private static final String ROTATED_SECRET = "rotatedSecretKey123456789012345678901234567890123456";
     private static final long TEST_EXPIRATION = 3600000; // 1 hour in milliseconds
     private static final String TEST_USERNAME = "testuser";
     private static final String TEST_ROLE = "USER";
@@ -34,7 +34,9 @@ class JwtUtilTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(jwtUtil, "secret", TEST_SECRET);
+        environment = new MockEnvironment().withProperty("jwt.secret", TEST_SECRET);
+        keyRing = new JwtKeyRing(environment, event -> { });
+        jwtUtil = new JwtUtil(keyRing);
         ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", TEST_EXPIRATION);
 
         // Generate valid token
@@ -152,4 +154,64 @@ class JwtUtilTest {
         // Allow 1 second tolerance for test execution time
         assertTrue(Math.abs(expiration.getTime() - expectedExpiration) < 1000);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Generated token should carry the active key id")
+    void generateToken_shouldCarryActiveKeyId() {
+        String kid = Jwts.parserBuilder()
+                .setSigningKey(keyRing.current().activeKey())
+                .build()
+                .parseClaimsJws(validToken)
+                .getHeader()
+                .getKeyId();
+        assertEquals(JwtKeyRing.LEGACY_KID, kid);
+    }
+
+    @Test
+    @DisplayName("Tokens signed with the previous key should verify after rotation")
+    void rotation_shouldKeepVerifyingPreviousKey() {
+        environment.setProperty("jwt.keys.secrets.k2", ROTATED_SECRET);
+        environment.setProperty("jwt.keys.active", "k2");
+        keyRing.reload();
+
+        String rotatedToken = jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE);
+
+        assertEquals("k2", keyRing.current().activeKid());
+        assertTrue(jwtUtil.validateToken(validToken, TEST_USERNAME));
+        assertTrue(jwtUtil.validateToken(rotatedToken, TEST_USERNAME));
+    }
+
+    @Test
+    @DisplayName("Tokens signed with a retired key should be rejected")
+    void rotation_shouldRejectRetiredKey() {
+        MockEnvironment rotated = new MockEnvironment()
+                .withProperty("jwt.keys.secrets.k2", ROTATED_SECRET)
+                .withProperty("jwt.keys.active", "k2");
+        JwtUtil rotatedJwtUtil = new JwtUtil(new JwtKeyRing(rotated, event -> { }));
+
+        assertThrows(SignatureException.class, () -> rotatedJwtUtil.validateToken(validToken, TEST_USERNAME));
+    }
+
+    @Test
+    @DisplayName("Invalid key configuration on reload should keep the current keys")
+    void reload_shouldKeepKeysWhenConfigurationInvalid() {
+        environment.setProperty("jwt.keys.active", "missing");
+
+        keyRing.reload();
+
+        assertEquals(JwtKeyRing.LEGACY_KID, keyRing.current().activeKid());
+        assertTrue(jwtUtil.validateToken(jwtUtil.generateToken(TEST_USERNAME, TEST_ROLE), TEST_USERNAME));
+    }
+
+    @Test
+    @DisplayName("Rotating to a weak key should keep the current keys")
+    void reload_shouldKeepKeysWhenRotatedKeyTooWeak() {
+        environment.setProperty("jwt.keys.secrets.k2", "short");
+        environment.setProperty("jwt.keys.active", "k2");
+
+        keyRing.reload();
+
+        assertEquals(JwtKeyRing.LEGACY_KID, keyRing.current().activeKid());
+        assertTrue(jwtUtil.validateToken(validToken, TEST_USERNAME));
+    }
+}
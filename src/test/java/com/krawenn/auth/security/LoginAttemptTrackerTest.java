@@ -0,0 +1,141 @@
+package com.krawenn.auth.security;
+
+import com.krawenn.auth.model.LoginLockout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptTrackerTest {
+
+    private static final long WINDOW_MS = 60_000;
+    private static final long LOCK_DURATION_MS = 300_000;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LoginAttemptTracker(mongoTemplate, true, 3, WINDOW_MS, LOCK_DURATION_MS,
+                1000, 4, 500, 0, 5000);
+    }
+
+    @Test
+    @DisplayName("Account should lock once max failures fall inside the window")
+    void recordFailure_shouldLockAfterMaxFailures() {
+        long now = 1_000_000;
+
+        assertFalse(tracker.recordFailure("testuser", now));
+        assertFalse(tracker.recordFailure("testuser", now + 1000));
+        assertTrue(tracker.recordFailure("testuser", now + 2000));
+
+        assertTrue(tracker.isLocked("testuser", now + 3000));
+        assertFalse(tracker.isLocked("testuser", now + 2000 + LOCK_DURATION_MS));
+    }
+
+    @Test
+    @DisplayName("Failures spread beyond the window should not lock")
+    void recordFailure_shouldSlideWindow() {
+        long now = 1_000_000;
+
+        tracker.recordFailure("testuser", now);
+        tracker.recordFailure("testuser", now + WINDOW_MS / 2);
+        assertFalse(tracker.recordFailure("testuser", now + WINDOW_MS + 1));
+        assertTrue(tracker.recordFailure("testuser", now + WINDOW_MS + 2));
+    }
+
+    @Test
+    @DisplayName("Successful login should reset the failure count")
+    void recordSuccess_shouldResetFailures() {
+        long now = 1_000_000;
+
+        tracker.recordFailure("testuser", now);
+        tracker.recordFailure("testuser", now + 1);
+        tracker.recordSuccess("testuser");
+
+        assertFalse(tracker.recordFailure("testuser", now + 2));
+        assertFalse(tracker.isLocked("testuser", now + 3));
+    }
+
+    @Test
+    @DisplayName("Flush should write one upsert per user in a single bulk operation")
+    void flush_shouldBatchUpdatesPerUser() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoginLockout.class)).thenReturn(bulkOperations);
+        tracker.recordFailure("alice", 1_000_000);
+        tracker.recordFailure("alice", 1_000_001);
+        tracker.recordFailure("bob", 1_000_002);
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Failed flush should keep updates for the next attempt")
+    void flush_shouldRetainUpdatesOnFailure() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoginLockout.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"))
+                .thenReturn(null);
+        tracker.recordFailure("alice", 1_000_000);
+
+        assertThrows(DataAccessResourceFailureException.class, () -> tracker.flush());
+        tracker.flush();
+
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    @Test
+    @DisplayName("Poll should adopt lockouts written by other nodes")
+    void poll_shouldAdoptRemoteLockouts() {
+        LoginLockout lockout = new LoginLockout();
+        lockout.setUsername("testuser");
+        lockout.setLockedUntil(Instant.now().plusSeconds(60));
+        when(mongoTemplate.find(any(Query.class), eq(LoginLockout.class))).thenReturn(List.of(lockout));
+
+        tracker.poll();
+
+        assertTrue(tracker.isLocked("testuser"));
+        assertFalse(tracker.isLocked("otheruser"));
+    }
+
+    @Test
+    @DisplayName("Lockout documents should expire once no window or lock depends on them")
+    void ensureIndexes_shouldCreateTtlIndexOnUpdatedAt() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(LoginLockout.class)).thenReturn(indexOps);
+
+        tracker.ensureIndexes();
+
+        ArgumentCaptor<Index> captor = ArgumentCaptor.forClass(Index.class);
+        verify(indexOps).ensureIndex(captor.capture());
+        assertTrue(captor.getValue().getIndexKeys().containsKey("updatedAt"));
+        assertEquals((LOCK_DURATION_MS + 5000) / 1000, captor.getValue().getIndexOptions().get("expireAfterSeconds"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.krawenn.auth.security;
+
+import com.krawenn.auth.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenVersionRegistry(mongoTemplate, 1000, 5000, 3_600_000);
+    }
+
+    @Test
+    @DisplayName("The poll should be backed by a sparse index on tokenVersionUpdatedAt")
+    void ensureIndexes_shouldCreateSparseIndex() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOps);
+
+        registry.ensureIndexes();
+
+        ArgumentCaptor<Index> captor = ArgumentCaptor.forClass(Index.class);
+        verify(indexOps).ensureIndex(captor.capture());
+        assertTrue(captor.getValue().getIndexKeys().containsKey("tokenVersionUpdatedAt"));
+        assertEquals(true, captor.getValue().getIndexOptions().get("sparse"));
+    }
+
+    @Test
+    @DisplayName("Tokens older than the advanced version should be rejected")
+    void advance_shouldRejectOlderVersions() {
+        registry.advance("testuser", 2, Instant.now());
+
+        assertFalse(registry.isCurrent("testuser", 1));
+        assertTrue(registry.isCurrent("testuser", 2));
+        assertTrue(registry.isCurrent("otheruser", 0));
+    }
+}
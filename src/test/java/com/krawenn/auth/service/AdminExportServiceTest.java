@@ -0,0 +1,95 @@
+package com.krawenn.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.model.RefreshToken;
+import com.krawenn.auth.model.User;
+import com.krawenn.auth.repository.RefreshTokenBuckets;
+import com.krawenn.auth.service.impl.AdminExportServiceImpl;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminExportServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private AdminExportServiceImpl adminExportService;
+
+    @BeforeEach
+    void setUp() {
+        adminExportService = new AdminExportServiceImpl(mongoTemplate,
+                new RefreshTokenBuckets(mongoTemplate, false, 604800000L, 0, 0),
+                new ObjectMapper().findAndRegisterModules(), 2, 100, "secondaryPreferred");
+    }
+
+    @Test
+    @DisplayName("User export should page by id and write one JSON line per user")
+    void exportUsers_shouldPageByIdAndWriteNdjson() throws Exception {
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.stream(any(Query.class), eq(User.class), eq("users")))
+                .thenReturn(Stream.of(user("id1", "alice"), user("id2", "bob")))
+                .thenReturn(Stream.of(user("id3", "carol")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        adminExportService.exportUsers(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"username\":\"alice\""));
+        assertTrue(lines.get(2).contains("\"username\":\"carol\""));
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("password"));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).stream(queries.capture(), eq(User.class), eq("users"));
+        assertFalse(queries.getAllValues().get(0).getQueryObject().containsKey("id"));
+        assertEquals("id2", queries.getAllValues().get(1).getQueryObject().get("id", Document.class).get("$gt"));
+    }
+
+    @Test
+    @DisplayName("Session export should not include refresh token values")
+    void exportSessions_shouldOmitTokenValues() throws Exception {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId("session1");
+        refreshToken.setUserId("id1");
+        refreshToken.setToken("secret-refresh-token");
+        refreshToken.setExpiryDate(Instant.now().plusSeconds(3600));
+        when(mongoTemplate.stream(any(Query.class), eq(RefreshToken.class), eq("refresh_tokens"))).thenReturn(Stream.of(refreshToken));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        adminExportService.exportSessions(out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"userId\":\"id1\""));
+        assertFalse(body.contains("secret-refresh-token"));
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(RefreshToken.class), eq("refresh_tokens"));
+    }
+
+    private User user(String id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        return user;
+    }
+}
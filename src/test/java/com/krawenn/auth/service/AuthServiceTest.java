@@ -1,24 +1,37 @@
 package com.krawenn.auth.service;
 
+import com.krawenn.auth.audit.AuditEventType;
+import com.krawenn.auth.audit.AuthAuditPublisher;
 import com.krawenn.auth.dto.AuthRequest;
 import com.krawenn.auth.dto.AuthResponse;
 import com.krawenn.auth.dto.RefreshRequest;
+import com.krawenn.auth.exception.AccountLockedException;
 import com.krawenn.auth.exception.InvalidCredentialsException;
+import com.krawenn.auth.exception.ServiceUnavailableException;
 import com.krawenn.auth.exception.UserAlreadyExistsException;
 import com.krawenn.auth.exception.UserNotFoundException;
 import com.krawenn.auth.model.RefreshToken;
 import com.krawenn.auth.model.User;
+import com.krawenn.auth.repository.RefreshTokenBuckets;
 import com.krawenn.auth.repository.RefreshTokenRepository;
+import com.krawenn.auth.repository.RefreshTokenWriteBehind;
 import com.krawenn.auth.repository.UserRepository;
+import com.krawenn.auth.resilience.MongoCircuitBreaker;
+import com.krawenn.auth.resilience.RefreshSessionCache;
 import com.krawenn.auth.security.JwtUtil;
+import com.krawenn.auth.security.LoginAttemptTracker;
+import com.krawenn.auth.security.TokenVersionRegistry;
 import com.krawenn.auth.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
@@ -37,12 +50,33 @@ class AuthServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private RefreshTokenWriteBehind refreshTokenWriteBehind;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private AuthAuditPublisher auditPublisher;
+
+    @Mock
+    private RefreshSessionCache refreshSessionCache;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Spy
+    private MongoCircuitBreaker mongoCircuitBreaker = new MongoCircuitBreaker(1, 60000);
+
+    @Spy
+    private RefreshTokenBuckets refreshTokenBuckets = new RefreshTokenBuckets(null, false, 604800000L, 0, 0);
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -111,7 +145,7 @@ class AuthServiceTest {
                 .thenReturn(Optional.of(validUser));
         when(passwordEncoder.matches(validAuthRequest.getPassword(), validUser.getPassword()))
                 .thenReturn(true);
-        when(jwtUtil.generateToken(validUser.getUsername(), validUser.getRole()))
+        when(jwtUtil.generateToken(validUser.getUsername(), validUser.getRole(), validUser.getTokenVersion()))
                 .thenReturn("jwt-token");
 
         AuthResponse response = authService.login(validAuthRequest);
@@ -122,6 +156,27 @@ class AuthServiceTest {
         assertEquals("USER", response.getRole());
         verify(refreshTokenRepository).deleteByUserId(validUser.getId());
         verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(auditPublisher).publish(AuditEventType.LOGIN_SUCCESS, validUser.getUsername(), validUser.getId(), null);
+        verify(loginAttemptTracker).recordSuccess(validUser.getUsername());
+    }
+
+    @Test
+    @DisplayName("Login should queue refresh token when write-behind is enabled")
+    void login_shouldQueueRefreshTokenWhenWriteBehindEnabled() {
+        when(userRepository.findByUsername(validAuthRequest.getUsername()))
+                .thenReturn(Optional.of(validUser));
+        when(passwordEncoder.matches(validAuthRequest.getPassword(), validUser.getPassword()))
+                .thenReturn(true);
+        when(jwtUtil.generateToken(validUser.getUsername(), validUser.getRole(), validUser.getTokenVersion()))
+                .thenReturn("jwt-token");
+        when(refreshTokenWriteBehind.isEnabled()).thenReturn(true);
+
+        AuthResponse response = authService.login(validAuthRequest);
+
+        assertNotNull(response.getRefreshToken());
+        verify(refreshTokenWriteBehind).replaceForUser(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).deleteByUserId(any());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
     }
 
     @Test
@@ -144,6 +199,20 @@ class AuthServiceTest {
 
         assertThrows(InvalidCredentialsException.class, () -> authService.login(validAuthRequest));
         verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(auditPublisher).publish(AuditEventType.LOGIN_FAILURE, validUser.getUsername(), validUser.getId(), "Invalid credentials");
+        verify(loginAttemptTracker).recordFailure(validUser.getUsername());
+    }
+
+    @Test
+    @DisplayName("Login should reject locked account before checking the password")
+    void login_shouldRejectLockedAccount() {
+        when(loginAttemptTracker.isLocked(validAuthRequest.getUsername())).thenReturn(true);
+
+        assertThrows(AccountLockedException.class, () -> authService.login(validAuthRequest));
+        verify(userRepository, never()).findByUsername(any());
+        verify(passwordEncoder, never()).matches(any(), any());
+        verify(auditPublisher).publish(AuditEventType.LOGIN_LOCKED, validAuthRequest.getUsername(), null,
+                "Account temporarily locked");
     }
 
     @Test
@@ -156,7 +225,7 @@ class AuthServiceTest {
                 .thenReturn(Optional.of(validRefreshToken));
         when(userRepository.findById(validRefreshToken.getUserId()))
                 .thenReturn(Optional.of(validUser));
-        when(jwtUtil.generateToken(validUser.getUsername(), validUser.getRole()))
+        when(jwtUtil.generateToken(validUser.getUsername(), validUser.getRole(), validUser.getTokenVersion()))
                 .thenReturn("new-jwt-token");
 
         AuthResponse response = authService.refreshToken(request);
@@ -167,6 +236,102 @@ class AuthServiceTest {
         assertEquals("USER", response.getRole());
     }
 
+    @Test
+    @DisplayName("Refresh token should find tokens that are not flushed yet")
+    void refreshToken_shouldFindPendingToken() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-token");
+
+        when(refreshTokenWriteBehind.findPending(request.getRefreshToken()))
+                .thenReturn(Optional.of(validRefreshToken));
+        when(userRepository.findById(validRefreshToken.getUserId()))
+                .thenReturn(Optional.of(validUser));
+        when(jwtUtil.generateToken(validUser.getUsername(), validUser.getRole(), validUser.getTokenVersion()))
+                .thenReturn("new-jwt-token");
+
+        AuthResponse response = authService.refreshToken(request);
+
+        assertEquals("new-jwt-token", response.getToken());
+        verify(refreshTokenRepository, never()).findByToken(any());
+    }
+
+    @Test
+    @DisplayName("Refresh token should look again after a flush when another node may still buffer it")
+    void refreshToken_shouldRetryAfterFlushIntervalWithWriteBehind() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-token");
+
+        when(refreshTokenWriteBehind.isEnabled()).thenReturn(true);
+        when(refreshTokenRepository.findByToken(request.getRefreshToken()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(validRefreshToken));
+        when(userRepository.findById(validRefreshToken.getUserId()))
+                .thenReturn(Optional.of(validUser));
+        when(jwtUtil.generateToken(validUser.getUsername(), validUser.getRole(), validUser.getTokenVersion()))
+                .thenReturn("new-jwt-token");
+
+        AuthResponse response = authService.refreshToken(request);
+
+        assertEquals("new-jwt-token", response.getToken());
+        InOrder inOrder = inOrder(refreshTokenRepository, refreshTokenWriteBehind);
+        inOrder.verify(refreshTokenRepository).findByToken(request.getRefreshToken());
+        inOrder.verify(refreshTokenWriteBehind).awaitFlushInterval();
+        inOrder.verify(refreshTokenRepository).findByToken(request.getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Refresh token should reject stored token superseded by a pending login")
+    void refreshToken_shouldRejectSupersededToken() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-token");
+
+        when(refreshTokenRepository.findByToken(request.getRefreshToken()))
+                .thenReturn(Optional.of(validRefreshToken));
+        when(refreshTokenWriteBehind.isSuperseded(validRefreshToken)).thenReturn(true);
+
+        assertThrows(InvalidCredentialsException.class, () -> authService.refreshToken(request));
+    }
+
+    @Test
+    @DisplayName("Refresh token should be served from cache while Mongo circuit is open")
+    void refreshToken_shouldUseCacheWhenCircuitOpen() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-token");
+
+        when(refreshTokenRepository.findByToken(request.getRefreshToken()))
+                .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"));
+        when(refreshSessionCache.find(request.getRefreshToken())).thenReturn(Optional.of(
+                new RefreshSessionCache.CachedSession("user123", "testuser", "USER", 2L, Instant.now().plusSeconds(3600),
+                        System.currentTimeMillis())));
+        when(jwtUtil.generateToken("testuser", "USER", 2L)).thenReturn("cached-jwt-token");
+
+        // The failing call itself is served from cache and opens the circuit
+        AuthResponse first = authService.refreshToken(request);
+        assertEquals("cached-jwt-token", first.getToken());
+        assertEquals(MongoCircuitBreaker.State.OPEN, mongoCircuitBreaker.getState());
+
+        AuthResponse response = authService.refreshToken(request);
+
+        assertEquals("cached-jwt-token", response.getToken());
+        assertEquals("refresh-token", response.getRefreshToken());
+        verify(refreshTokenRepository, times(1)).findByToken(request.getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Refresh token should fail fast when circuit is open and token is not cached")
+    void refreshToken_shouldFailFastWhenCircuitOpenAndNotCached() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-token");
+
+        when(refreshTokenRepository.findByToken(request.getRefreshToken()))
+                .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"));
+        // Mapped to 503 by GlobalExceptionHandler
+        assertThrows(DataAccessResourceFailureException.class, () -> authService.refreshToken(request));
+
+        assertThrows(ServiceUnavailableException.class, () -> authService.refreshToken(request));
+        verify(refreshTokenRepository, times(1)).findByToken(request.getRefreshToken());
+    }
+
     @Test
     @DisplayName("Refresh token should throw InvalidCredentialsException when token not found")
     void refreshToken_shouldThrowExceptionWhenTokenNotFound() {
@@ -177,6 +342,8 @@ class AuthServiceTest {
                 .thenReturn(Optional.empty());
 
         assertThrows(InvalidCredentialsException.class, () -> authService.refreshToken(request));
+        verify(refreshTokenWriteBehind, never()).awaitFlushInterval();
+        verify(refreshTokenRepository, times(1)).findByToken(request.getRefreshToken());
     }
 
     @Test
@@ -206,4 +373,38 @@ class AuthServiceTest {
 
         assertThrows(UserNotFoundException.class, () -> authService.refreshToken(request));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Logout-all should bump token version and drop all refresh tokens")
+    void logoutAll_shouldBumpVersionAndDropRefreshTokens() {
+        User updated = new User();
+        updated.setId(validUser.getId());
+        updated.setUsername(validUser.getUsername());
+        updated.setTokenVersion(1L);
+        updated.setTokenVersionUpdatedAt(Instant.now());
+        when(userRepository.findByUsername(validUser.getUsername())).thenReturn(Optional.of(validUser));
+        when(userRepository.incrementTokenVersion(validUser.getUsername())).thenReturn(Optional.of(updated));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(refreshTokenWriteBehind).revokeUser(eq(validUser.getId()), any(Runnable.class));
+
+        authService.logoutAll(validUser.getUsername());
+
+        verify(refreshTokenWriteBehind).revokeUser(eq(validUser.getId()), any(Runnable.class));
+        verify(refreshSessionCache).evictUser(validUser.getId());
+        verify(refreshTokenRepository).deleteByUserId(validUser.getId());
+        verify(tokenVersionRegistry).advance(validUser.getUsername(), 1L, updated.getTokenVersionUpdatedAt());
+        verify(auditPublisher).publish(AuditEventType.LOGOUT_ALL, validUser.getUsername(), validUser.getId(), null);
+    }
+
+    @Test
+    @DisplayName("Logout-all should throw UserNotFoundException for unknown user")
+    void logoutAll_shouldThrowExceptionWhenUserNotFound() {
+        when(userRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> authService.logoutAll("unknown"));
+        verify(userRepository, never()).incrementTokenVersion(any());
+        verify(refreshTokenRepository, never()).deleteByUserId(any());
+    }
+}
@@ -0,0 +1,90 @@
+package com.krawenn.auth.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krawenn.auth.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupRunnerTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Mongo warm-up should give up when the budget runs out and skip later phases")
+    void run_shouldStopAtBudget() {
+        when(mongoTemplate.executeCommand(any(Document.class))).thenAnswer(invocation -> {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            return new Document("ok", 1);
+        });
+        WarmupRunner runner = runner(200);
+
+        long start = System.nanoTime();
+        runner.run(null);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertEquals(1, meterRegistry.get("auth.warmup.duration").tag("phase", "mongo").timer().count());
+        verifyNoInteractions(jwtUtil, passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("A failing phase should not stop the remaining phases")
+    void run_shouldContinueAfterPhaseFailure() {
+        when(mongoTemplate.executeCommand(any(Document.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"));
+        when(jwtUtil.generateToken(anyString(), anyString())).thenReturn("token");
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        WarmupRunner runner = runner(10000);
+
+        runner.run(null);
+
+        verify(jwtUtil, times(3)).generateToken(anyString(), anyString());
+        verify(validator, times(3)).validate(any());
+        verify(passwordEncoder, times(2)).encode(anyString());
+        assertEquals(1, meterRegistry.get("auth.warmup.duration").tag("phase", "bcrypt").timer().count());
+    }
+
+    @Test
+    @DisplayName("Disabled warm-up should not touch any dependency")
+    void run_shouldDoNothingWhenDisabled() {
+        WarmupRunner runner = new WarmupRunner(jwtUtil, passwordEncoder, new ObjectMapper(), validator, mongoTemplate,
+                meterRegistry, false, 10000, 3, 2, 2);
+
+        runner.run(null);
+
+        verifyNoInteractions(jwtUtil, passwordEncoder, validator, mongoTemplate);
+    }
+
+    private WarmupRunner runner(long budgetMs) {
+        return new WarmupRunner(jwtUtil, passwordEncoder, new ObjectMapper(), validator, mongoTemplate,
+                meterRegistry, true, budgetMs, 3, 2, 2);
+    }
+}